@@ -0,0 +1,95 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class Fixtures {
+    static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private static final String[] NAMES = {"Дрель", "Перфоратор", "Отвёртка", "Пила", "Молоток", "Лестница",
+        "Палатка", "Велосипед", "Самокат", "Шуруповёрт", "Стремянка", "Болгарка"};
+    private static final String[] ADJECTIVES = {"ударная", "аккумуляторная", "крестовая", "складная", "лёгкая",
+        "профессиональная", "туристическая", "детская", "садовая", "бытовая"};
+
+    private Fixtures() {
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            users.add(User.builder().id(id).name("Пользователь " + id).email("user" + id + "@mail.com").build());
+        }
+        return users;
+    }
+
+    static List<Item> items(int count, List<User> owners, long seed) {
+        Random random = new Random(seed);
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            String description = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + NAMES[random.nextInt(NAMES.length)].toLowerCase() + " для дома, артикул " + id;
+            items.add(Item.builder()
+                    .id(id)
+                    .name(name)
+                    .description(description)
+                    .available(random.nextInt(10) > 0)
+                    .owner(owners.get(random.nextInt(owners.size())))
+                    .build());
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(int count, List<Item> items, List<User> bookers) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            LocalDateTime start = NOW.plusHours(id);
+            bookings.add(Booking.builder()
+                    .id(id)
+                    .start(start)
+                    .end(start.plusDays(1))
+                    .item(items.get((int) (id % items.size())))
+                    .booker(bookers.get((int) (id % bookers.size())))
+                    .status(BookingStatus.APPROVED)
+                    .version(0L)
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(int count, Item item, List<User> authors) {
+        List<Comment> comments = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            comments.add(Comment.builder()
+                    .id(id)
+                    .text("Отличная вещь, всё работает, отзыв номер " + id)
+                    .item(item)
+                    .author(authors.get((int) (id % authors.size())))
+                    .created(NOW.minusDays(id))
+                    .build());
+        }
+        return comments;
+    }
+
+    static List<ItemRequest> requests(int count, List<User> requesters) {
+        List<ItemRequest> requests = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            requests.add(ItemRequest.builder()
+                    .id(id)
+                    .description("Нужна вещь на выходные, запрос " + id)
+                    .requester(requesters.get((int) (id % requesters.size())))
+                    .created(NOW.minusHours(id))
+                    .build());
+        }
+        return requests;
+    }
+}
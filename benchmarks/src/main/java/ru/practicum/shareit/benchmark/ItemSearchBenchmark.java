@@ -0,0 +1,68 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class ItemSearchBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000"})
+    int size;
+
+    @Param({"шуруповёрт", "артикул 777"})
+    String text;
+
+    private ItemSearchIndex index;
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        items = Fixtures.items(size, Fixtures.users(100), 42);
+        index = new ItemSearchIndex(null, true);
+        items.forEach(index::add);
+    }
+
+    @Benchmark
+    public List<Long> index() {
+        return index.search(text, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> scan() {
+        List<Long> byName = new ArrayList<>();
+        List<Long> byDescription = new ArrayList<>();
+        for (Item item : items) {
+            if (!item.getAvailable()) {
+                continue;
+            }
+            if (item.getName().toLowerCase().contains(text)) {
+                byName.add(item.getId());
+            } else if (item.getDescription().toLowerCase().contains(text)) {
+                byDescription.add(item.getId());
+            }
+        }
+        byName.addAll(byDescription);
+        return byName.subList(0, Math.min(PAGE_SIZE, byName.size()));
+    }
+}
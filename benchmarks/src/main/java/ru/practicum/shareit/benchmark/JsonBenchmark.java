@@ -0,0 +1,71 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDtoForItemDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class JsonBenchmark {
+
+    @Param({"1", "100"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private List<GetBookingDto> bookings;
+    private List<ItemDtoWithBooking> items;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<User> users = Fixtures.users(100);
+        List<Item> itemList = Fixtures.items(size, users, 42);
+        List<Booking> bookingList = Fixtures.bookings(size * 2, itemList, users);
+        bookings = BookingMapper.bookingListToDto(bookingList.subList(0, size));
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BookingDtoForItemDto last = BookingMapper.bookingToBookingDtoForItemDto(bookingList.get(i));
+            BookingDtoForItemDto next = BookingMapper.bookingToBookingDtoForItemDto(bookingList.get(i + size));
+            ItemDtoWithBooking item = ItemMapper.itemToDtoWithDate(itemList.get(i), last, next);
+            item.setComments(ItemMapper.commentsToDtoResponse(Fixtures.comments(3, itemList.get(i), users)));
+            items.add(item);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeGetBookingDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] writeItemDtosWithBooking() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.dto.BookingDtoForItemDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.GetItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class MapperBenchmark {
+
+    @Param({"10", "1000"})
+    int size;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<BookingDtoForItemDto> lastBookings;
+    private List<BookingDtoForItemDto> nextBookings;
+    private List<Comment> comments;
+    private List<ItemRequest> requests;
+    private Map<Long, List<Item>> itemsByRequestId;
+
+    @Setup
+    public void setUp() {
+        List<User> users = Fixtures.users(100);
+        items = Fixtures.items(size, users, 42);
+        bookings = Fixtures.bookings(size, items, users);
+        lastBookings = bookings.stream().map(BookingMapper::bookingToBookingDtoForItemDto).collect(Collectors.toList());
+        nextBookings = lastBookings.subList(1, size);
+        comments = Fixtures.comments(size, items.get(0), users);
+        requests = Fixtures.requests(size, users);
+        itemsByRequestId = items.stream()
+                .collect(Collectors.groupingBy(item -> item.getId() % size + 1));
+    }
+
+    @Benchmark
+    public List<GetBookingDto> bookingListToDto() {
+        return BookingMapper.bookingListToDto(bookings);
+    }
+
+    @Benchmark
+    public void itemToDtoWithDate(Blackhole blackhole) {
+        for (int i = 0; i < items.size(); i++) {
+            BookingDtoForItemDto next = i < nextBookings.size() ? nextBookings.get(i) : null;
+            blackhole.consume(ItemMapper.itemToDtoWithDate(items.get(i), lastBookings.get(i), next));
+        }
+    }
+
+    @Benchmark
+    public List<CommentDtoResponse> commentsToDtoResponse() {
+        return ItemMapper.commentsToDtoResponse(comments);
+    }
+
+    @Benchmark
+    public List<GetItemRequestDto> itemRequestsToGetItemRequestDto() {
+        return ItemRequestMapper.itemRequestsToGetItemRequestDto(requests, itemsByRequestId);
+    }
+}
@@ -0,0 +1,261 @@
+package ru.practicum.shareit.load;
+
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+public final class DataGenerator {
+    static final String[] NAMES = {"Дрель", "Перфоратор", "Отвёртка", "Пила", "Молоток", "Лестница", "Палатка",
+        "Велосипед", "Самокат", "Шуруповёрт", "Стремянка", "Болгарка", "Лобзик", "Рубанок", "Тачка", "Генератор"};
+    private static final String[] ADJECTIVES = {"ударная", "аккумуляторная", "крестовая", "складная", "лёгкая",
+        "профессиональная", "туристическая", "детская", "садовая", "бытовая"};
+    private static final String[] TABLES = {"users", "requests", "items", "bookings", "comments"};
+    private static final int BATCH_SIZE = 10_000;
+    private static final Duration WINDOW = Duration.ofDays(365);
+
+    private final Connection connection;
+    private final Random random;
+    private final int users;
+    private final int requests;
+    private final int items;
+    private final long bookings;
+    private final double commentShare;
+    private final double skew;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    DataGenerator(Connection connection, Options options) {
+        this.connection = connection;
+        this.random = new Random(options.count("seed", 42));
+        this.users = (int) options.count("users", 1_000);
+        this.items = (int) options.count("items", 10_000);
+        this.requests = (int) options.count("requests", users / 10);
+        this.bookings = options.count("bookings", 100_000);
+        this.commentShare = options.decimal("comments", 0.1);
+        this.skew = options.decimal("skew", 0.8);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Options options = new Options(args);
+        String url = options.string("url", "jdbc:postgresql://localhost:6541/shareit?reWriteBatchedInserts=true");
+        String user = options.string("user", "root");
+        String password = options.string("password", "root");
+        migrate(url, user, password);
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            new DataGenerator(connection, options).generate();
+        }
+    }
+
+    static void migrate(String url, String user, String password) {
+        String vendor = url.startsWith("jdbc:h2:") ? "h2" : "postgresql";
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration/common", "classpath:db/migration/" + vendor)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    void generate() throws SQLException {
+        checkEmpty();
+        connection.setAutoCommit(false);
+        Zipf popularUsers = new Zipf(users, skew);
+        int[] owners = new int[items];
+        timed("users", this::generateUsers);
+        timed("requests", () -> generateRequests(popularUsers));
+        timed("items", () -> generateItems(popularUsers, owners));
+        timed("bookings", () -> generateBookings(popularUsers, owners));
+        resetSequences();
+        connection.commit();
+    }
+
+    private void checkEmpty() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+            resultSet.next();
+            if (resultSet.getLong(1) > 0) {
+                throw new IllegalStateException("Генерация данных возможна только в пустую базу");
+            }
+        }
+    }
+
+    private long generateUsers() throws SQLException {
+        try (Batch batch = new Batch("INSERT INTO users (id, name, email) VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= users; id++) {
+                batch.statement.setLong(1, id);
+                batch.statement.setString(2, "Пользователь " + id);
+                batch.statement.setString(3, "user" + id + "@shareit.test");
+                batch.add();
+            }
+        }
+        return users;
+    }
+
+    private long generateRequests(Zipf popularUsers) throws SQLException {
+        String sql = "INSERT INTO requests (id, description, requester_id, created) VALUES (?, ?, ?, ?)";
+        try (Batch batch = new Batch(sql)) {
+            for (int id = 1; id <= requests; id++) {
+                batch.statement.setLong(1, id);
+                batch.statement.setString(2, "Нужна " + NAMES[random.nextInt(NAMES.length)].toLowerCase()
+                        + " на выходные, запрос " + id);
+                batch.statement.setLong(3, popularUsers.next(random) + 1);
+                batch.statement.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(random.nextInt(525_600))));
+                batch.add();
+            }
+        }
+        return requests;
+    }
+
+    private long generateItems(Zipf popularUsers, int[] owners) throws SQLException {
+        String sql = "INSERT INTO items (id, name, description, available, owner_id, request_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)";
+        try (Batch batch = new Batch(sql)) {
+            for (int id = 1; id <= items; id++) {
+                String name = NAMES[random.nextInt(NAMES.length)];
+                owners[id - 1] = popularUsers.next(random) + 1;
+                batch.statement.setLong(1, id);
+                batch.statement.setString(2, name);
+                batch.statement.setString(3, ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                        + name.toLowerCase() + ", артикул " + id);
+                batch.statement.setBoolean(4, random.nextInt(10) > 0);
+                batch.statement.setLong(5, owners[id - 1]);
+                if (requests > 0 && random.nextInt(20) == 0) {
+                    batch.statement.setLong(6, random.nextInt(requests) + 1);
+                } else {
+                    batch.statement.setObject(6, null);
+                }
+                batch.add();
+            }
+        }
+        return items;
+    }
+
+    private long generateBookings(Zipf popularUsers, int[] owners) throws SQLException {
+        Zipf popularItems = new Zipf(items, skew);
+        int[] bookingsPerItem = new int[items];
+        for (long i = 0; i < bookings; i++) {
+            bookingsPerItem[popularItems.next(random)]++;
+        }
+        String bookingSql = "INSERT INTO bookings (id, start_date, end_date, booker_id, item_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)";
+        String commentSql = "INSERT INTO comments (id, text, author_id, item_id, created_date) VALUES (?, ?, ?, ?, ?)";
+        long bookingId = 0;
+        long commentId = 0;
+        LocalDateTime from = now.minus(WINDOW);
+        try (Batch bookingBatch = new Batch(bookingSql); Batch commentBatch = new Batch(commentSql)) {
+            for (int itemIndex = 0; itemIndex < items; itemIndex++) {
+                int count = bookingsPerItem[itemIndex];
+                if (count == 0) {
+                    continue;
+                }
+                long slot = WINDOW.multipliedBy(2).getSeconds() / count;
+                int jitter = (int) Math.max(1, slot / 4);
+                for (int i = 0; i < count; i++) {
+                    LocalDateTime start = from.plusSeconds(slot * i + random.nextInt(jitter));
+                    LocalDateTime end = start.plusSeconds(Math.max(1, slot / 2 + random.nextInt(jitter)));
+                    int bookerId = bookerId(popularUsers.next(random) + 1, owners[itemIndex]);
+                    String status = status(start, end);
+                    bookingBatch.statement.setLong(1, ++bookingId);
+                    bookingBatch.statement.setTimestamp(2, Timestamp.valueOf(start));
+                    bookingBatch.statement.setTimestamp(3, Timestamp.valueOf(end));
+                    bookingBatch.statement.setLong(4, bookerId);
+                    bookingBatch.statement.setLong(5, itemIndex + 1);
+                    bookingBatch.statement.setString(6, status);
+                    bookingBatch.add();
+                    if (end.isBefore(now) && "APPROVED".equals(status) && random.nextDouble() < commentShare) {
+                        LocalDateTime created = end.plusHours(1).isBefore(now) ? end.plusHours(1) : now;
+                        commentBatch.statement.setLong(1, ++commentId);
+                        commentBatch.statement.setString(2, "Брал в аренду, всё работает, отзыв " + commentId);
+                        commentBatch.statement.setLong(3, bookerId);
+                        commentBatch.statement.setLong(4, itemIndex + 1);
+                        commentBatch.statement.setTimestamp(5, Timestamp.valueOf(created));
+                        commentBatch.add();
+                    }
+                }
+            }
+        }
+        System.out.printf("comments: %d rows%n", commentId);
+        return bookingId;
+    }
+
+    private int bookerId(int candidate, int ownerId) {
+        return candidate != ownerId ? candidate : candidate % users + 1;
+    }
+
+    private String status(LocalDateTime start, LocalDateTime end) {
+        int roll = random.nextInt(10);
+        if (end.isBefore(now)) {
+            return roll < 8 ? "APPROVED" : roll < 9 ? "REJECTED" : "CANCELED";
+        }
+        if (start.isAfter(now)) {
+            return roll < 6 ? "APPROVED" : "WAITING";
+        }
+        return "APPROVED";
+    }
+
+    private void resetSequences() throws SQLException {
+        boolean h2 = "H2".equals(connection.getMetaData().getDatabaseProductName());
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                String max = "(SELECT COALESCE(MAX(id), 0) + 50 FROM " + table + ")";
+                statement.execute(h2
+                        ? "ALTER SEQUENCE " + table + "_seq RESTART WITH " + max
+                        : "SELECT setval('" + table + "_seq', " + max + ", false)");
+            }
+        }
+    }
+
+    private void timed(String table, Step step) throws SQLException {
+        long started = System.nanoTime();
+        long rows = step.run();
+        System.out.printf("%s: %d rows, %d ms%n", table, rows, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        long run() throws SQLException;
+    }
+
+    private final class Batch implements AutoCloseable {
+        private final PreparedStatement statement;
+        private int size;
+
+        private Batch(String sql) throws SQLException {
+            statement = connection.prepareStatement(sql);
+        }
+
+        private void add() throws SQLException {
+            statement.addBatch();
+            if (++size == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (size > 0) {
+                statement.executeBatch();
+                connection.commit();
+                size = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
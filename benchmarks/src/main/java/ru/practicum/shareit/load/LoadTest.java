@@ -0,0 +1,196 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public final class LoadTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final HttpClient client;
+    private final String target;
+    private final Zipf popularUsers;
+    private final Zipf popularItems;
+    private final List<Operation> operations = new ArrayList<>();
+    private final int totalWeight;
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    LoadTest(Options options) {
+        target = options.string("target", "http://localhost:8080");
+        double skew = options.decimal("skew", 0.8);
+        popularUsers = new Zipf((int) options.count("users", 1_000), skew);
+        popularItems = new Zipf((int) options.count("items", 10_000), skew);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        operations.add(new Operation("GET /items", 15, random -> get("/items?size=20", random)));
+        operations.add(new Operation("GET /items/{id}", 25, random -> get("/items/" + item(random), random)));
+        operations.add(new Operation("GET /items/search", 10, random -> get("/items/search?size=20&text="
+                + DataGenerator.NAMES[random.nextInt(DataGenerator.NAMES.length)].toLowerCase(), random)));
+        operations.add(new Operation("GET /bookings", 15, random -> get("/bookings?state=ALL&size=20", random)));
+        operations.add(new Operation("GET /bookings/owner", 10,
+                random -> get("/bookings/owner?state=FUTURE&size=20", random)));
+        operations.add(new Operation("GET /requests", 5, random -> get("/requests", random)));
+        operations.add(new Operation("GET /requests/all", 5, random -> get("/requests/all?size=20", random)));
+        operations.add(new Operation("GET /users/{id}", 10, random -> get("/users/" + user(random), random)));
+        operations.add(new Operation("POST /bookings", 5, this::createBooking));
+        totalWeight = operations.stream().mapToInt(operation -> operation.weight).sum();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Options options = new Options(args);
+        new LoadTest(options).run((int) options.count("concurrency", 32),
+                options.duration("warmup", Duration.ofSeconds(10)),
+                options.duration("duration", Duration.ofSeconds(60)));
+    }
+
+    void run(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            long seed = i;
+            workers.execute(() -> work(new Random(seed)));
+        }
+        Thread.sleep(warmup.toMillis());
+        recording = true;
+        long started = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        recording = false;
+        long elapsed = System.nanoTime() - started;
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        report(concurrency, elapsed);
+    }
+
+    private void work(Random random) {
+        while (running) {
+            Operation operation = pick(random);
+            HttpRequest request = operation.request.apply(random);
+            long started = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (recording) {
+                operation.record(System.nanoTime() - started, status);
+            }
+        }
+    }
+
+    private Operation pick(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Веса операций заданы неверно");
+    }
+
+    private HttpRequest get(String path, Random random) {
+        return request(path, random).GET().build();
+    }
+
+    private HttpRequest createBooking(Random random) {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(random.nextInt(365) + 1);
+        String body = "{\"itemId\":" + item(random)
+                + ",\"start\":\"" + start + "\",\"end\":\"" + start.plusDays(1) + "\"}";
+        return request("/bookings", random)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, Random random) {
+        return HttpRequest.newBuilder(URI.create(target + path))
+                .timeout(Duration.ofSeconds(30))
+                .header(USER_HEADER, String.valueOf(user(random)));
+    }
+
+    private int user(Random random) {
+        return popularUsers.next(random) + 1;
+    }
+
+    private int item(Random random) {
+        return popularItems.next(random) + 1;
+    }
+
+    private void report(int concurrency, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%s, concurrency %d, %.0f s%n", target, concurrency, seconds);
+        System.out.printf("%-22s %9s %9s %9s %9s %9s %9s %7s %7s%n",
+                "endpoint", "requests", "rps", "p50 ms", "p99 ms", "p999 ms", "max ms", "4xx", "errors");
+        Histogram total = new Histogram(3);
+        for (Operation operation : operations) {
+            print(operation.name, operation.latency, operation.clientErrors.sum(), operation.errors.sum(), seconds);
+            total.add(operation.latency);
+        }
+        print("total", total, operations.stream().mapToLong(operation -> operation.clientErrors.sum()).sum(),
+                operations.stream().mapToLong(operation -> operation.errors.sum()).sum(), seconds);
+    }
+
+    private static void print(String name, Histogram latency, long clientErrors, long errors, double seconds) {
+        System.out.printf("%-22s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %7d%n",
+                name,
+                latency.getTotalCount(),
+                latency.getTotalCount() / seconds,
+                millis(latency.getValueAtPercentile(50)),
+                millis(latency.getValueAtPercentile(99)),
+                millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue()),
+                clientErrors,
+                errors);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Operation {
+        private final String name;
+        private final int weight;
+        private final Function<Random, HttpRequest> request;
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private Operation(String name, int weight, Function<Random, HttpRequest> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        private void record(long nanos, int status) {
+            latency.recordValue(nanos);
+            if (status >= 400 && status < 500) {
+                clientErrors.increment();
+            } else if (status < 200 || status >= 500) {
+                errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.load;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+final class Options {
+    private final Map<String, String> values = new HashMap<>();
+
+    Options(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидался аргумент вида --name=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    String string(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    long count(String name, long defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        char suffix = Character.toLowerCase(value.charAt(value.length() - 1));
+        if (suffix == 'k') {
+            return Long.parseLong(value.substring(0, value.length() - 1)) * 1_000;
+        }
+        if (suffix == 'm') {
+            return Long.parseLong(value.substring(0, value.length() - 1)) * 1_000_000;
+        }
+        return Long.parseLong(value);
+    }
+
+    double decimal(String name, double defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    Duration duration(String name, Duration defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+import java.util.Random;
+
+final class Zipf {
+    private final double[] cdf;
+
+    Zipf(int size, double exponent) {
+        cdf = new double[size];
+        double sum = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            sum += 1 / Math.pow(rank, exponent);
+            cdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    int next(Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+}
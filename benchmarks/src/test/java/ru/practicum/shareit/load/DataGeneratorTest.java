@@ -0,0 +1,88 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DataGeneratorTest {
+    private static final String URL = "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1";
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataGenerator.migrate(URL, "test", "test");
+        connection = DriverManager.getConnection(URL, "test", "test");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    void generate_thenFillTablesAtRequestedScale() throws SQLException {
+        generator().generate();
+
+        assertThat(count("SELECT COUNT(*) FROM users"), equalTo(100L));
+        assertThat(count("SELECT COUNT(*) FROM requests"), equalTo(10L));
+        assertThat(count("SELECT COUNT(*) FROM items"), equalTo(500L));
+        assertThat(count("SELECT COUNT(*) FROM bookings"), equalTo(5_000L));
+        assertThat(count("SELECT COUNT(*) FROM comments"), greaterThan(0L));
+    }
+
+    @Test
+    void generate_thenBookingsAreConsistent() throws SQLException {
+        generator().generate();
+
+        assertThat(count("SELECT COUNT(*) FROM bookings b JOIN items i ON i.id = b.item_id "
+                + "WHERE b.booker_id = i.owner_id"), equalTo(0L));
+        assertThat(count("SELECT COUNT(*) FROM bookings b1 JOIN bookings b2 ON b1.item_id = b2.item_id "
+                + "AND b1.id < b2.id AND b1.start_date < b2.end_date AND b2.start_date < b1.end_date "
+                + "WHERE b1.status = 'APPROVED' AND b2.status = 'APPROVED'"), equalTo(0L));
+        assertThat(count("SELECT COUNT(*) FROM comments c JOIN bookings b ON b.booker_id = c.author_id "
+                + "AND b.item_id = c.item_id AND b.end_date <= c.created_date"), greaterThan(0L));
+    }
+
+    @Test
+    void generate_thenSequencesStartAfterGeneratedIds() throws SQLException {
+        generator().generate();
+
+        assertThat(count("SELECT NEXT VALUE FOR bookings_seq"), greaterThan(5_000L));
+        assertThat(count("SELECT NEXT VALUE FOR users_seq"), greaterThan(100L));
+    }
+
+    @Test
+    void generate_whenDatabaseIsNotEmpty_thenThrow() throws SQLException {
+        generator().generate();
+
+        assertThrows(IllegalStateException.class, () -> generator().generate());
+    }
+
+    private DataGenerator generator() {
+        return new DataGenerator(connection,
+                new Options(new String[]{"--users=100", "--items=500", "--bookings=5k", "--comments=0.2"}));
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsConfig.class);
+
+    @Test
+    void virtualThreadExecutor_whenDisabled_thenNotCreated() {
+        contextRunner.run(context -> assertThat(context.getBeansOfType(ExecutorService.class).isEmpty(), equalTo(true)));
+    }
+
+    @Test
+    void virtualThreadExecutor_whenEnabledOnOldJdk_thenFailOnStartup() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        contextRunner.withPropertyValues("shareit.threads.virtual=true")
+                .run(context -> assertThat(context.getStartupFailure().getMessage(), containsString("JDK 21")));
+    }
+
+    @Test
+    void applicationTaskExecutor_whenEnabled_thenRunTasksOnVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21);
+
+        contextRunner.withPropertyValues("shareit.threads.virtual=true")
+                .run(context -> {
+                    Object virtual = context.getBean(AsyncTaskExecutor.class)
+                            .submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()))
+                            .get();
+                    assertThat(virtual, equalTo(true));
+                });
+    }
+}
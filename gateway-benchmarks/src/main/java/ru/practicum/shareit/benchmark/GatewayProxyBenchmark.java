@@ -0,0 +1,115 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.HttpClientConfig;
+import ru.practicum.shareit.client.HttpClientProperties;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class GatewayProxyBenchmark {
+    private static final long USER_ID = 1L;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+    @Param({"1", "100"})
+    int size;
+
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private BookingClient bookingClient;
+    private AddBookingDto addBookingDto;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        byte[] bookings = objectMapper.writeValueAsBytes(bookings(size));
+        byte[] booking = objectMapper.writeValueAsBytes(booking(1));
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/bookings", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendByteArray(Mono.just(bookings)))
+                        .post("/bookings", (request, response) -> request.receive().then(response
+                                .header("Content-Type", "application/json")
+                                .sendByteArray(Mono.just(booking))
+                                .then())))
+                .bindNow();
+
+        HttpClientConfig httpClientConfig = new HttpClientConfig();
+        HttpClientProperties properties = new HttpClientProperties();
+        connectionProvider = httpClientConfig.shareItServerConnectionProvider(properties);
+        ClientHttpConnector connector = httpClientConfig.shareItServerConnector(connectionProvider, properties);
+        WebClient.Builder builder = WebClient.builder()
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024));
+        bookingClient = new BookingClient("http://127.0.0.1:" + server.port(), builder, connector);
+        addBookingDto = new AddBookingDto(1L, START, START.plusDays(1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionProvider.dispose();
+        server.disposeNow();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> findBookingsByBookerId() {
+        return bookingClient.findBookingsByBookerId(USER_ID, BookingState.ALL, 0, size, null).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> createBooking() {
+        return bookingClient.createBooking(USER_ID, addBookingDto).block();
+    }
+
+    private static List<Map<String, Object>> bookings(int size) {
+        List<Map<String, Object>> bookings = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            bookings.add(booking(i));
+        }
+        return bookings;
+    }
+
+    private static Map<String, Object> booking(long id) {
+        return Map.of(
+                "id", id,
+                "start", START.plusDays(id),
+                "end", START.plusDays(id + 1),
+                "status", "APPROVED",
+                "booker", Map.of("id", USER_ID + id),
+                "item", Map.of("id", id, "name", "Дрель " + id));
+    }
+}
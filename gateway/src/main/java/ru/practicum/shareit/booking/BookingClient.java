@@ -2,15 +2,20 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,46 +23,70 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                         ClientHttpConnector connector) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> findBookingsByBookerId(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> findBookingsByBookerId(long userId, BookingState state, Integer from,
+                                                               Integer size, String cursor) {
+        return get("?" + listingQuery(cursor), userId, listingParameters(state, from, size, cursor));
     }
 
-    public ResponseEntity<Object> findBookingsByOwnerId(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> findBookingsByOwnerId(long userId, BookingState state, Integer from,
+                                                              Integer size, String cursor) {
+        return get("/owner?" + listingQuery(cursor), userId, listingParameters(state, from, size, cursor));
+    }
+
+    public Mono<ResponseEntity<Flux<String>>> exportBookingsByBookerId(long userId, BookingState state) {
+        return stream("/export?state={state}", userId, Map.of("state", state.name()), MediaType.APPLICATION_NDJSON);
+    }
+
+    public Mono<ResponseEntity<Flux<String>>> exportBookingsByOwnerId(long userId, BookingState state) {
+        return stream("/owner/export?state={state}", userId, Map.of("state", state.name()), MediaType.APPLICATION_NDJSON);
+    }
+
+    private static String listingQuery(String cursor) {
+        String query = "state={state}&from={from}&size={size}";
+        if (cursor != null) {
+            query += "&cursor={cursor}";
+        }
+        return query;
     }
 
-    public ResponseEntity<Object> createBooking(long userId, AddBookingDto requestDto) {
+    private static Map<String, Object> listingParameters(BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
+
+    public Mono<ResponseEntity<Object>> createBooking(long userId, AddBookingDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> approve(Long bookingId, long userId, boolean approved) {
+    public Mono<ResponseEntity<Object>> approve(Long bookingId, long userId, boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved,
                 "bookingId", bookingId
         );
         return patch("/{bookingId}?approved={approved}", userId, parameters);
     }
+
+    public Mono<ResponseEntity<Object>> approveAll(long userId, List<BookingDecisionDto> decisions) {
+        return patch("/bulk", userId, decisions);
+    }
 }
@@ -2,14 +2,21 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -20,45 +27,73 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> findBookingsByBookerId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                         @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                                         @Min(0) @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                         @Min(1) @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> findBookingsByBookerId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                               @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                               @Min(0) @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                               @Min(1) @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                               @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.findBookingsByBookerId(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.findBookingsByBookerId(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> findBookingsByOwnerId(@RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                                        @RequestHeader("X-Sharer-User-Id") long userId,
-                                                        @RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
-                                                        @RequestParam(name = "size", defaultValue = "10") @Min(1) int size) {
+    public Mono<ResponseEntity<Object>> findBookingsByOwnerId(@RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                              @RequestHeader("X-Sharer-User-Id") long userId,
+                                                              @RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
+                                                              @RequestParam(name = "size", defaultValue = "10") @Min(1) int size,
+                                                              @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get /bookings/owner?state={}, userId={}, from={}, size={}", state, userId, from, size);
-        return bookingClient.findBookingsByOwnerId(userId, state, from, size);
+        log.info("Get /bookings/owner?state={}, userId={}, from={}, size={}, cursor={}", state, userId, from, size, cursor);
+        return bookingClient.findBookingsByOwnerId(userId, state, from, size, cursor);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<String>>> exportBookingsByBookerId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                       @RequestParam(name = "state", defaultValue = "all") String stateParam) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Export bookings with state {}, userId={}", state, userId);
+        return bookingClient.exportBookingsByBookerId(userId, state);
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<String>>> exportBookingsByOwnerId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                      @RequestParam(name = "state", defaultValue = "all") String stateParam) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Export /bookings/owner with state {}, userId={}", state, userId);
+        return bookingClient.exportBookingsByOwnerId(userId, state);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(@PathVariable long bookingId,
-                                                 @RequestParam Boolean approved,
-                                                 @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> approveBooking(@PathVariable long bookingId,
+                                                       @RequestParam Boolean approved,
+                                                       @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("PATCH /bookings/{}?approved={}, userId={}", bookingId, approved, userId);
         return bookingClient.approve(bookingId, userId, approved);
     }
 
+    @PatchMapping("/bulk")
+    public Mono<ResponseEntity<Object>> approveBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                        @RequestBody @NotEmpty @Size(max = 100)
+                                                        List<@Valid BookingDecisionDto> decisions) {
+        log.info("PATCH /bookings/bulk, decisions={}, userId={}", decisions.size(), userId);
+        return bookingClient.approveAll(userId, decisions);
+    }
+
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                @RequestBody @Valid AddBookingDto requestDto) {
+    public Mono<ResponseEntity<Object>> createBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @RequestBody @Valid AddBookingDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.createBooking(userId, requestDto);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
@@ -2,17 +2,18 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -20,28 +21,33 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ClientHttpConnector connector) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> createItem(ItemDto itemDto, long userId) {
+    public Mono<ResponseEntity<Object>> createItem(ItemDto itemDto, long userId) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(ItemDto itemDto, long itemId, long userId) {
+    public Mono<ResponseEntity<Object>> createItems(List<ItemDto> itemDtos, long userId) {
+        return post("/import", userId, itemDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(ItemDto itemDto, long itemId, long userId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getById(long itemId, long userId) {
+    public Mono<ResponseEntity<Object>> getById(long itemId, long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> findAllItemsByOwnerId(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> findAllItemsByOwnerId(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -49,9 +55,9 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchByText(String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> searchByText(String text, int from, int size) {
         if (text == null || text.isBlank()) {
-            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
+            return Mono.just(new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK));
         }
         Map<String, Object> parameters = Map.of(
                 "text", text,
@@ -61,7 +67,7 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}", null, parameters);
     }
 
-    public ResponseEntity<Object> addComment(CommentDto commentDto, long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> addComment(CommentDto commentDto, long userId, long itemId) {
         Map<String, Object> parameters = Map.of(
                 "itemId", itemId
         );
@@ -5,11 +5,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/items")
@@ -20,43 +24,50 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@Valid @RequestBody ItemDto itemDto, @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> createItem(@Valid @RequestBody ItemDto itemDto, @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("POST /items, userId={}", userId);
         return itemClient.createItem(itemDto, userId);
     }
 
+    @PostMapping("/import")
+    public Mono<ResponseEntity<Object>> importItems(@RequestBody @NotEmpty @Size(max = 1000) List<@Valid ItemDto> itemDtos,
+                                                    @RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("POST /items/import, items={}, userId={}", itemDtos.size(), userId);
+        return itemClient.createItems(itemDtos, userId);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestBody ItemDto itemDto, @PathVariable long itemId,
-                                             @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestBody ItemDto itemDto, @PathVariable long itemId,
+                                                   @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("PATCH /items/{}, userId={}", itemId, userId);
         return itemClient.updateItem(itemDto, itemId, userId);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getById(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> getById(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("GET /items/{}, userId={}", itemId, userId);
         return itemClient.getById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllByOwnerId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                  @RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
-                                                  @RequestParam(name = "size", defaultValue = "10") @Min(1) int size) {
+    public Mono<ResponseEntity<Object>> getAllByOwnerId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                        @RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
+                                                        @RequestParam(name = "size", defaultValue = "10") @Min(1) int size) {
         log.info("GET /items, userId={}, from={}, size={}", userId, from, size);
         return itemClient.findAllItemsByOwnerId(userId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchByText(@RequestParam(defaultValue = "") String text,
-                                               @RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
-                                               @RequestParam(name = "size", defaultValue = "10") @Min(1) int size) {
+    public Mono<ResponseEntity<Object>> searchByText(@RequestParam(defaultValue = "") String text,
+                                                     @RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
+                                                     @RequestParam(name = "size", defaultValue = "10") @Min(1) int size) {
         log.info("Получен запрос GET /items/search?text={}, from={}, size={}", text, from, size);
         return itemClient.searchByText(text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@Valid @RequestBody CommentDto commentDto, @PathVariable long itemId,
-                                             @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> addComment(@Valid @RequestBody CommentDto commentDto, @PathVariable long itemId,
+                                                   @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Получен запрос к эндпоинту POST /items/{}/comment, userId={}", itemId, userId);
         return itemClient.addComment(commentDto, userId, itemId);
     }
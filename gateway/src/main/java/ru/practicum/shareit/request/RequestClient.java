@@ -2,11 +2,11 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 
 import java.util.Map;
@@ -16,24 +16,25 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                         ClientHttpConnector connector) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> createItemRequest(AddItemRequestDto addItemRequestDto, long userId) {
+    public Mono<ResponseEntity<Object>> createItemRequest(AddItemRequestDto addItemRequestDto, long userId) {
         return post("", userId, addItemRequestDto);
     }
 
-    public ResponseEntity<Object> findAllByRequesterId(long userId) {
+    public Mono<ResponseEntity<Object>> findAllByRequesterId(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findAll(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> findAll(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -41,7 +42,7 @@ public class RequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getById(long requestId, long userId) {
+    public Mono<ResponseEntity<Object>> getById(long requestId, long userId) {
         return get("/" + requestId, userId);
     }
 
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class BookingClientTest {
+    private final Map<String, String> received = new ConcurrentHashMap<>();
+    private DisposableServer server;
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void getBooking_thenPassServerBodyUntouched() {
+        String body = "{\"id\": 1, \"item\": {\"id\": 2, \"name\": \"Дрель\"}}";
+        BookingClient bookingClient = startServer(HttpResponseStatus.OK, MediaType.APPLICATION_JSON, body);
+
+        ResponseEntity<Object> response = bookingClient.getBooking(5L, 1L).block();
+
+        assertThat(received.get("uri"), equalTo("/bookings/1"));
+        assertThat(received.get("userId"), equalTo("5"));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getBody(), equalTo(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void getBooking_whenServerReturnsError_thenKeepStatusAndContentType() {
+        String error = "{\"error\":\"Бронирование с идентификатором 1 не найдено.\"}";
+        BookingClient bookingClient = startServer(HttpResponseStatus.NOT_FOUND, MediaType.APPLICATION_JSON, error);
+
+        ResponseEntity<Object> response = bookingClient.getBooking(5L, 1L).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getBody(), equalTo(error.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void exportBookingsByBookerId_thenPassLinesThrough() {
+        String body = "{\"id\":1,\"item\":{\"name\":\"Дрель\"}}\n{\"id\":2}\n";
+        BookingClient bookingClient = startServer(HttpResponseStatus.OK, MediaType.APPLICATION_NDJSON, body);
+
+        ResponseEntity<Flux<String>> response = bookingClient.exportBookingsByBookerId(5L, BookingState.ALL).block();
+
+        assertThat(received.get("uri"), equalTo("/bookings/export?state=ALL"));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_NDJSON));
+        assertThat(join(response.getBody()), equalTo(body));
+    }
+
+    @Test
+    void exportBookingsByOwnerId_whenServerReturnsError_thenPassErrorThrough() {
+        String error = "{\"error\":\"Пользователь с идентификатором = 5 не найден.\"}";
+        BookingClient bookingClient = startServer(HttpResponseStatus.NOT_FOUND, MediaType.APPLICATION_JSON, error);
+
+        ResponseEntity<Flux<String>> response = bookingClient.exportBookingsByOwnerId(5L, BookingState.PAST).block();
+
+        assertThat(received.get("uri"), equalTo("/bookings/owner/export?state=PAST"));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(join(response.getBody()), equalTo(error + "\n"));
+    }
+
+    private BookingClient startServer(HttpResponseStatus status, MediaType contentType, String body) {
+        server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> {
+                    received.put("uri", request.uri());
+                    received.put("userId", String.valueOf(request.requestHeaders().get("X-Sharer-User-Id")));
+                    return response.status(status)
+                            .header(HttpHeaderNames.CONTENT_TYPE, contentType.toString())
+                            .sendByteArray(Mono.just(body.getBytes(StandardCharsets.UTF_8)));
+                })
+                .bindNow();
+        return new BookingClient("http://localhost:" + server.port(), WebClient.builder(),
+                new ReactorClientHttpConnector());
+    }
+
+    private String join(Flux<String> lines) {
+        List<String> collected = lines.collectList().block();
+        return collected.stream().collect(Collectors.joining());
+    }
+}
@@ -7,14 +7,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -124,4 +140,114 @@ class BookingControllerTest {
         Mockito.verifyNoInteractions(bookingClient);
     }
 
-}
\ No newline at end of file
+    @Test
+    void findBookingsByBookerId_whenCursorIsSet_thenPassCursorToServer() throws Exception {
+        long bookerId = 5L;
+        String cursor = "MjAyMy0wNy0yM1QxNzo0MDo1MHw0";
+
+        when(bookingClient.findBookingsByBookerId(bookerId, BookingState.ALL, 0, 10, cursor))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        MvcResult result = mvc.perform(get("/bookings")
+                .header("X-Sharer-User-Id", bookerId)
+                .param("cursor", cursor)
+                .characterEncoding(StandardCharsets.UTF_8)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        Mockito.verify(bookingClient, Mockito.times(1))
+                .findBookingsByBookerId(bookerId, BookingState.ALL, 0, 10, cursor);
+        Mockito.verifyNoMoreInteractions(bookingClient);
+    }
+
+    @Test
+    void approveBookings_whenDecisionsAreValid_thenPassDecisionsToServer() throws Exception {
+        long ownerId = 1L;
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true), new BookingDecisionDto(2L, false));
+
+        when(bookingClient.approveAll(eq(ownerId), anyList())).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        MvcResult result = mvc.perform(patch("/bookings/bulk")
+                .content(mapper.writeValueAsString(decisions))
+                .header("X-Sharer-User-Id", ownerId)
+                .characterEncoding(StandardCharsets.UTF_8)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        Mockito.verify(bookingClient, Mockito.times(1)).approveAll(eq(ownerId), anyList());
+        Mockito.verifyNoMoreInteractions(bookingClient);
+    }
+
+    @Test
+    void approveBookings_whenDecisionIsMissing_thenBadRequest() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, null));
+
+        mvc.perform(patch("/bookings/bulk")
+                .content(mapper.writeValueAsString(decisions))
+                .header("X-Sharer-User-Id", 1L)
+                .characterEncoding(StandardCharsets.UTF_8)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void approveBookings_whenDecisionsAreEmpty_thenBadRequest() throws Exception {
+        mvc.perform(patch("/bookings/bulk")
+                .content("[]")
+                .header("X-Sharer-User-Id", 1L)
+                .characterEncoding(StandardCharsets.UTF_8)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void exportBookingsByBookerId_thenPassServerBodyThrough() throws Exception {
+        long userId = 5L;
+        String body = "{\"id\":1}\n{\"id\":2}\n";
+        Flux<String> lines = Flux.just("{\"id\":1}\n", "{\"id\":2}\n");
+
+        when(bookingClient.exportBookingsByBookerId(userId, BookingState.ALL))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(lines)));
+
+        MvcResult result = mvc.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult streaming = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streaming.getAsyncResult();
+
+        assertThat(streaming.getResponse().getContentType(), is(MediaType.APPLICATION_NDJSON_VALUE));
+        assertThat(streaming.getResponse().getContentAsString(), is(body));
+    }
+
+    @Test
+    void exportBookingsByOwnerId_whenStateIsUnknown_thenBadRequest() throws Exception {
+        mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 5L)
+                        .param("state", "unknown"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Unknown state: unknown")));
+
+        Mockito.verifyNoInteractions(bookingClient);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@AutoConfigureMetrics
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit-server.http.max-connections=40")
+class HttpClientConfigTest {
+
+    @Autowired
+    ClientHttpConnector connector;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private final DisposableServer server = HttpServer.create()
+            .port(0)
+            .handle((request, response) -> response.sendString(Mono.just("ok")))
+            .bindNow();
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void connector_whenRequestSent_thenPoolMetricsAreRegistered() {
+        String body = WebClient.builder()
+                .clientConnector(connector)
+                .build()
+                .get()
+                .uri("http://localhost:" + server.port())
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+
+        assertThat(body, equalTo("ok"));
+        assertThat(meterRegistry.find("reactor.netty.connection.provider.max.connections")
+                .tag("name", "shareit-server")
+                .gauge(), notNullValue());
+        assertThat(meterRegistry.get("reactor.netty.connection.provider.max.connections")
+                .tag("name", "shareit-server")
+                .gauge().value(), equalTo(40.0));
+    }
+}
@@ -7,14 +7,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.hamcrest.Matchers.in;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -159,4 +167,45 @@ class ItemControllerTest {
         Mockito.verifyNoInteractions(itemClient);
     }
 
-}
\ No newline at end of file
+    @Test
+    void importItems_whenItemsAreValid_thenPassItemsToServer() throws Exception {
+        long userId = 5L;
+        List<ItemDto> itemDtos = List.of(
+                ItemDto.builder().name("Дрель").description("Аккумуляторная дрель").available(true).build(),
+                ItemDto.builder().name("Отвертка").description("Крестовая отвертка").available(false).build());
+
+        when(itemClient.createItems(anyList(), eq(userId))).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        MvcResult result = mvc.perform(post("/items/import")
+                .content(mapper.writeValueAsString(itemDtos))
+                .header("X-Sharer-User-Id", userId)
+                .characterEncoding(StandardCharsets.UTF_8)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        Mockito.verify(itemClient, Mockito.times(1)).createItems(anyList(), eq(userId));
+        Mockito.verifyNoMoreInteractions(itemClient);
+    }
+
+    @Test
+    void importItems_whenItemIsWrong_then400() throws Exception {
+        List<ItemDto> itemDtos = List.of(
+                ItemDto.builder().name("Дрель").description("Аккумуляторная дрель").available(true).build(),
+                ItemDto.builder().name(" ").description("Крестовая отвертка").available(true).build());
+
+        mvc.perform(post("/items/import")
+                .content(mapper.writeValueAsString(itemDtos))
+                .header("X-Sharer-User-Id", 5L)
+                .characterEncoding(StandardCharsets.UTF_8)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(itemClient);
+    }
+}
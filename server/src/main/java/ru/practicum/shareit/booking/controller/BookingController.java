@@ -1,21 +1,37 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingExport;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
+@Validated
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public GetBookingDto createBooking(@RequestBody AddBookingDto bookingDto,
@@ -32,6 +48,13 @@ public class BookingController {
         return bookingService.approve(bookingId, userId, approved);
     }
 
+    @PatchMapping("/bulk")
+    public List<BookingDecisionResultDto> approveBookings(@RequestBody List<@Valid BookingDecisionDto> decisions,
+                                                          @RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Получен запрос PATCH /bookings/bulk на {} бронирований", decisions.size());
+        return bookingService.approveAll(userId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
     public GetBookingDto getBooking(@PathVariable long bookingId,
                                     @RequestHeader("X-Sharer-User-Id") long userId) {
@@ -40,21 +63,66 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<GetBookingDto> findBookingsByBookerId(@RequestParam BookingState state,
-                                                      @RequestHeader("X-Sharer-User-Id") long userId,
-                                                      @RequestParam(name = "from", defaultValue = "0") int from,
-                                                      @RequestParam(name = "size", defaultValue = "10") int size) {
+    public ResponseEntity<List<GetBookingDto>> findBookingsByBookerId(@RequestParam BookingState state,
+                                                                      @RequestHeader("X-Sharer-User-Id") long userId,
+                                                                      @RequestParam(name = "from", defaultValue = "0") int from,
+                                                                      @RequestParam(name = "size", defaultValue = "10") int size,
+                                                                      @RequestParam(name = "cursor", required = false) String cursor) {
         log.info("Получен запрос GET /bookings?state={}", state);
-        return bookingService.findBookingsByBookerId(userId, state, from, size);
+        List<GetBookingDto> bookings = cursor == null
+                ? bookingService.findBookingsByBookerId(userId, state, from, size)
+                : bookingService.findBookingsByBookerId(userId, state, BookingCursor.decode(cursor), size);
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<GetBookingDto> findBookingsByOwnerId(@RequestParam BookingState state,
-                                                     @RequestHeader("X-Sharer-User-Id") long userId,
-                                                     @RequestParam(name = "from", defaultValue = "0") int from,
-                                                     @RequestParam(name = "size", defaultValue = "10") int size) {
+    public ResponseEntity<List<GetBookingDto>> findBookingsByOwnerId(@RequestParam BookingState state,
+                                                                     @RequestHeader("X-Sharer-User-Id") long userId,
+                                                                     @RequestParam(name = "from", defaultValue = "0") int from,
+                                                                     @RequestParam(name = "size", defaultValue = "10") int size,
+                                                                     @RequestParam(name = "cursor", required = false) String cursor) {
         log.info("Получен запрос GET /bookings/owner?state={}", state);
-        return bookingService.findBookingsByOwnerId(userId, state, from, size);
+        List<GetBookingDto> bookings = cursor == null
+                ? bookingService.findBookingsByOwnerId(userId, state, from, size)
+                : bookingService.findBookingsByOwnerId(userId, state, BookingCursor.decode(cursor), size);
+        return withNextCursor(bookings, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByBookerId(@RequestParam BookingState state,
+                                                                          @RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Получен запрос GET /bookings/export?state={}", state);
+        return asNdjson(bookingService.exportBookingsByBookerId(userId, state));
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByOwnerId(@RequestParam BookingState state,
+                                                                         @RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Получен запрос GET /bookings/owner/export?state={}", state);
+        return asNdjson(bookingService.exportBookingsByOwnerId(userId, state));
+    }
+
+    private ResponseEntity<StreamingResponseBody> asNdjson(BookingExport export) {
+        StreamingResponseBody body = out -> export.forEach(booking -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(booking));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private ResponseEntity<List<GetBookingDto>> withNextCursor(List<GetBookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() >= size) {
+            GetBookingDto last = bookings.get(bookings.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(last).encode());
+        }
+        return response.body(bookings);
     }
 
 }
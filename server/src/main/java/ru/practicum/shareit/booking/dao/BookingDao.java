@@ -1,37 +1,46 @@
 package ru.practicum.shareit.booking.dao;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
-public interface BookingDao extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking> {
+public interface BookingDao extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking>, BookingDaoCustom {
 
-    Booking findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDesc(long itemId, BookingStatus status, LocalDateTime startDate);
+    @Override
+    @EntityGraph(attributePaths = {"booker", "item", "item.owner"})
+    Optional<Booking> findById(Long id);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item IN :items " +
-            "AND b.status = :status " +
-            "AND b.start <= :startDate " +
-            "ORDER BY b.start DESC"
-    )
-    List<Booking> findLastByItems(@Param("items") List<Item> items, @Param("status") BookingStatus status, @Param("startDate") LocalDateTime startDate);
+    @EntityGraph(attributePaths = {"item"})
+    List<Booking> findAllByIdInAndItemOwnerId(Collection<Long> ids, long ownerId);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item IN :items " +
-            "AND b.status = :status " +
-            "AND b.start > :startDate " +
-            "ORDER BY b.start"
-    )
-    List<Booking> findNextByItems(@Param("items") List<Item> items, @Param("status") BookingStatus status, @Param("startDate") LocalDateTime startDate);
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.id IN :ids AND b.item.owner.id = :ownerId")
+    Set<Long> findItemIdsByIdInAndItemOwnerId(@Param("ids") Collection<Long> ids, @Param("ownerId") long ownerId);
 
-    Booking findFirstByItemIdAndStatusAndStartGreaterThanOrderByStart(long itemId, BookingStatus status, LocalDateTime startDate);
+    List<Booking> findAllByItemIdInAndStatusAndEndGreaterThan(Collection<Long> itemIds, BookingStatus status, LocalDateTime end);
+
+    @Query(value = "SELECT * FROM (" +
+            "SELECT b.*, ROW_NUMBER() OVER (" +
+            "PARTITION BY b.item_id, b.start_date <= :now " +
+            "ORDER BY CASE WHEN b.start_date <= :now THEN b.start_date END DESC, b.start_date) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) " +
+            "AND b.status = :#{#status.name()}" +
+            ") ranked WHERE ranked.rn = 1",
+            nativeQuery = true
+    )
+    List<Booking> findLastAndNextByItemIds(@Param("itemIds") Collection<Long> itemIds, @Param("status") BookingStatus status, @Param("now") LocalDateTime now);
 
     Boolean existsByItemIdAndBookerIdAndStatusAndEndLessThan(long itemId, long userId, BookingStatus status, LocalDateTime end);
+
+    boolean existsByItemIdAndStatusAndStartLessThanAndEndGreaterThan(long itemId, BookingStatus status, LocalDateTime end, LocalDateTime start);
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dao;
+
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface BookingDaoCustom {
+
+    Slice<GetBookingDto> findDtoSlice(Predicate predicate, Pageable pageable);
+
+    void forEachDto(Predicate predicate, Sort sort, Consumer<GetBookingDto> action);
+
+    void updateStatuses(Map<BookingStatus, List<Long>> bookingIdsByStatus);
+
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking.dao;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.QBooking;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class BookingDaoCustomImpl implements BookingDaoCustom {
+    private static final QBooking BOOKING = QBooking.booking;
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final Expression<GetBookingDto> GET_BOOKING_DTO = Projections.constructor(GetBookingDto.class,
+            BOOKING.id,
+            BOOKING.start,
+            BOOKING.end,
+            BOOKING.booker.id,
+            BOOKING.item.id,
+            BOOKING.item.name,
+            BOOKING.status);
+
+    private final EntityManager em;
+    private final Querydsl querydsl;
+
+    public BookingDaoCustomImpl(EntityManager em) {
+        this.em = em;
+        this.querydsl = new Querydsl(em, new PathBuilder<>(Booking.class, BOOKING.getMetadata()));
+    }
+
+    @Override
+    public Slice<GetBookingDto> findDtoSlice(Predicate predicate, Pageable pageable) {
+        JPAQuery<GetBookingDto> query = new JPAQuery<GetBookingDto>(em)
+                .select(GET_BOOKING_DTO)
+                .from(BOOKING)
+                .where(predicate)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L);
+        List<GetBookingDto> content = querydsl.applySorting(pageable.getSort(), query).fetch();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachDto(Predicate predicate, Sort sort, Consumer<GetBookingDto> action) {
+        JPAQuery<GetBookingDto> query = new JPAQuery<GetBookingDto>(em)
+                .select(GET_BOOKING_DTO)
+                .from(BOOKING)
+                .where(predicate)
+                .setHint(QueryHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true);
+        try (Stream<GetBookingDto> bookings = querydsl.applySorting(sort, query).stream()) {
+            bookings.forEach(action);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void updateStatuses(Map<BookingStatus, List<Long>> bookingIdsByStatus) {
+        for (Map.Entry<BookingStatus, List<Long>> entry : bookingIdsByStatus.entrySet()) {
+            long updated = new JPAUpdateClause(em, BOOKING)
+                    .set(BOOKING.status, entry.getKey())
+                    .set(BOOKING.version, BOOKING.version.add(1L))
+                    .where(BOOKING.id.in(entry.getValue()), BOOKING.status.ne(BookingStatus.APPROVED))
+                    .execute();
+            if (updated != entry.getValue().size()) {
+                throw new OptimisticLockingFailureException("Бронирования " + entry.getValue() + " изменены другим запросом.");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingDecisionResultDto {
+    private Long bookingId;
+
+    private BookingStatus status;
+
+    private String error;
+
+    public static BookingDecisionResultDto applied(long bookingId, BookingStatus status) {
+        return new BookingDecisionResultDto(bookingId, status, null);
+    }
+
+    public static BookingDecisionResultDto failed(long bookingId, String error) {
+        return new BookingDecisionResultDto(bookingId, null, error);
+    }
+}
@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class GetBookingDto {
     private Long id;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
@@ -18,6 +19,11 @@ public class GetBookingDto {
     private Item item;
     private BookingStatus status;
 
+    public GetBookingDto(Long id, LocalDateTime start, LocalDateTime end, Long bookerId, Long itemId, String itemName,
+                         BookingStatus status) {
+        this(id, start, end, new Booker(bookerId), new Item(itemId, itemName), status);
+    }
+
     @AllArgsConstructor
     @Getter
     @Setter
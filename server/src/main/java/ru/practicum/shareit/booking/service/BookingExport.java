@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+
+import java.util.function.Consumer;
+
+@FunctionalInterface
+public interface BookingExport {
+
+    void forEach(Consumer<GetBookingDto> action);
+
+}
@@ -2,6 +2,9 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.model.BookingState;
 
 import java.util.List;
@@ -14,8 +17,18 @@ public interface BookingService {
 
     GetBookingDto approve(long bookingId, long userId, boolean approved);
 
+    List<BookingDecisionResultDto> approveAll(long userId, List<BookingDecisionDto> decisions);
+
     List<GetBookingDto> findBookingsByBookerId(long userId, BookingState state, int from, int size);
 
+    List<GetBookingDto> findBookingsByBookerId(long userId, BookingState state, BookingCursor cursor, int size);
+
     List<GetBookingDto> findBookingsByOwnerId(long userId, BookingState state, int from, int size);
 
+    List<GetBookingDto> findBookingsByOwnerId(long userId, BookingState state, BookingCursor cursor, int size);
+
+    BookingExport exportBookingsByBookerId(long userId, BookingState state);
+
+    BookingExport exportBookingsByOwnerId(long userId, BookingState state);
+
 }
@@ -1,18 +1,27 @@
 package ru.practicum.shareit.booking.service;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.dao.BookingDao;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.BookingNotFoundException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
@@ -21,19 +30,38 @@ import ru.practicum.shareit.item.dao.ItemDao;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserIdCache;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class BookingServiceImpl implements BookingService {
+    private static final Sort BOOKING_ORDER = Sort.by(Sort.Direction.DESC, "start", "id");
+    private static final int APPROVAL_LOCK_STRIPES = 64;
+    private static final int MAX_APPROVE_ATTEMPTS = 3;
+
     private final BookingDao bookingDao;
     private final UserDao userDao;
     private final ItemDao itemDao;
+    private final BookingTimeline bookingTimeline;
+    private final UserIdCache userIdCache;
+    private final TransactionTemplate transactionTemplate;
+    private final StripedLock approvalLocks = new StripedLock(APPROVAL_LOCK_STRIPES);
 
     @Override
+    @Transactional
     public GetBookingDto createBooking(AddBookingDto addBookingDto, long userId) {
         User booker = checkUserAndGet(userId);
 
@@ -45,6 +73,7 @@ public class BookingServiceImpl implements BookingService {
         if (item.getOwner().getId().equals(booker.getId())) {
             throw new UserNotFoundException("Владелец не может бронировать собственные вещи");
         }
+        checkPeriodIsFree(item.getId(), addBookingDto.getStart(), addBookingDto.getEnd());
 
         Booking booking = BookingMapper.addBookingDtoToBooking(addBookingDto, booker, item, BookingStatus.WAITING);
         Booking savedBooking = bookingDao.save(booking);
@@ -53,13 +82,14 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public GetBookingDto getById(long bookingId, long userId) {
         Booking booking = checkBookingAndGet(bookingId);
 
-        User ownerOrBooker = checkUserAndGet(userId);
+        checkUserExists(userId);
 
-        if (!Objects.equals(ownerOrBooker.getId(), booking.getBooker().getId()) &&
-                !Objects.equals(ownerOrBooker.getId(), booking.getItem().getOwner().getId())) {
+        if (!Objects.equals(userId, booking.getBooker().getId()) &&
+                !Objects.equals(userId, booking.getItem().getOwner().getId())) {
             throw new UserNotFoundException("Получать информацию о бронировании может только его автор или владелец вещи.");
         }
 
@@ -71,51 +101,125 @@ public class BookingServiceImpl implements BookingService {
     public GetBookingDto approve(long bookingId, long userId, boolean approved) {
         Booking booking = checkBookingAndGet(bookingId);
 
-        if (booking.getStatus().equals(BookingStatus.APPROVED)) {
-            throw new ValidationException("Статус бронирования нельзя изменить после подтверждения.");
-        }
+        checkStatusCanBeChanged(booking);
 
-        User owner = checkUserAndGet(userId);
+        checkUserExists(userId);
 
-        if (Objects.equals(booking.getBooker().getId(), owner.getId())) {
+        if (Objects.equals(booking.getBooker().getId(), userId)) {
             throw new UserNotFoundException("Подтвердить или отклонить бронирование может только владелец вещи.");
         }
-        if (!Objects.equals(booking.getItem().getOwner().getId(), owner.getId())) {
+        if (!Objects.equals(booking.getItem().getOwner().getId(), userId)) {
             throw new ValidationException("Подтвердить или отклонить бронирование может только владелец вещи.");
         }
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+
+        Lock lock = approvalLocks.get(booking.getItem().getId());
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> {
+                        Booking current = checkBookingAndGet(bookingId);
+                        checkStatusCanBeChanged(current);
+                        return changeStatus(current, approved);
+                    });
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt == MAX_APPROVE_ATTEMPTS) {
+                        throw new BookingConflictException("Бронирование изменено другим запросом, повторите попытку.");
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
-        Booking savedBooking = bookingDao.save(booking);
-        GetBookingDto getBookingDto = BookingMapper.bookingToDto(savedBooking);
-        return getBookingDto;
+    @Override
+    public List<BookingDecisionResultDto> approveAll(long userId, List<BookingDecisionDto> decisions) {
+        checkUserExists(userId);
+        if (decisions.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> bookingIds = decisions.stream()
+                .map(BookingDecisionDto::getBookingId)
+                .collect(Collectors.toSet());
+        Set<Long> itemIds = bookingDao.findItemIdsByIdInAndItemOwnerId(bookingIds, userId);
+
+        List<Lock> locks = approvalLocks.getAll(itemIds);
+        locks.forEach(Lock::lock);
+        try {
+            return transactionTemplate.execute(status -> {
+                Map<Long, Booking> bookings = bookingDao.findAllByIdInAndItemOwnerId(bookingIds, userId).stream()
+                        .collect(Collectors.toMap(Booking::getId, Function.identity()));
+                return applyDecisions(decisions, bookings, itemIds);
+            });
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<GetBookingDto> findBookingsByBookerId(long bookerId, BookingState state, int from, int size) {
-        User booker = checkUserAndGet(bookerId);
+        checkUserExists(bookerId);
 
-        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, Sort.by(Sort.Direction.DESC, "start"));
-        BooleanExpression byBookerId = QBooking.booking.booker.id.eq(booker.getId());
+        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, BOOKING_ORDER);
+        BooleanExpression byBookerId = QBooking.booking.booker.id.eq(bookerId);
         BooleanExpression byAnyState = createStatePredicate(state);
-        Iterable<Booking> foundBookings = bookingDao.findAll(byBookerId.and(byAnyState), page);
-        List<GetBookingDto> result = BookingMapper.bookingListToDto(foundBookings);
-        return result;
+        return bookingDao.findDtoSlice(byBookerId.and(byAnyState), page).getContent();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<GetBookingDto> findBookingsByBookerId(long bookerId, BookingState state, BookingCursor cursor, int size) {
+        checkUserExists(bookerId);
+
+        PageRequest page = PageRequest.of(0, size, BOOKING_ORDER);
+        BooleanExpression byBookerId = QBooking.booking.booker.id.eq(bookerId);
+        BooleanExpression byAnyState = createStatePredicate(state);
+        BooleanExpression afterCursor = createSeekPredicate(cursor);
+        return bookingDao.findDtoSlice(byBookerId.and(byAnyState).and(afterCursor), page).getContent();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<GetBookingDto> findBookingsByOwnerId(long ownerId, BookingState state, int from, int size) {
-        User booker = checkUserAndGet(ownerId);
+        checkUserExists(ownerId);
+
+        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, BOOKING_ORDER);
+        BooleanExpression byOwnerId = QBooking.booking.item.owner.id.eq(ownerId);
+        BooleanExpression byAnyState = createStatePredicate(state);
+        return bookingDao.findDtoSlice(byOwnerId.and(byAnyState), page).getContent();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GetBookingDto> findBookingsByOwnerId(long ownerId, BookingState state, BookingCursor cursor, int size) {
+        checkUserExists(ownerId);
 
-        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, Sort.by(Sort.Direction.DESC, "start"));
-        BooleanExpression byOwnerId = QBooking.booking.item.owner.id.eq(booker.getId());
+        PageRequest page = PageRequest.of(0, size, BOOKING_ORDER);
+        BooleanExpression byOwnerId = QBooking.booking.item.owner.id.eq(ownerId);
         BooleanExpression byAnyState = createStatePredicate(state);
-        Iterable<Booking> foundBookings = bookingDao.findAll(byOwnerId.and(byAnyState), page);
-        List<GetBookingDto> result = BookingMapper.bookingListToDto(foundBookings);
-        return result;
+        BooleanExpression afterCursor = createSeekPredicate(cursor);
+        return bookingDao.findDtoSlice(byOwnerId.and(byAnyState).and(afterCursor), page).getContent();
+    }
+
+    @Override
+    public BookingExport exportBookingsByBookerId(long bookerId, BookingState state) {
+        checkUserExists(bookerId);
+
+        BooleanExpression byBookerId = QBooking.booking.booker.id.eq(bookerId);
+        BooleanExpression byAnyState = createStatePredicate(state);
+        return action -> bookingDao.forEachDto(byBookerId.and(byAnyState), BOOKING_ORDER, action);
+    }
+
+    @Override
+    public BookingExport exportBookingsByOwnerId(long ownerId, BookingState state) {
+        checkUserExists(ownerId);
+
+        BooleanExpression byOwnerId = QBooking.booking.item.owner.id.eq(ownerId);
+        BooleanExpression byAnyState = createStatePredicate(state);
+        return action -> bookingDao.forEachDto(byOwnerId.and(byAnyState), BOOKING_ORDER, action);
     }
 
     private User checkUserAndGet(long userId) {
@@ -124,11 +228,109 @@ public class BookingServiceImpl implements BookingService {
 
     }
 
+    private void checkUserExists(long userId) {
+        if (!userIdCache.exists(userId)) {
+            throw new UserNotFoundException("Пользователь с идентификатором = " + userId + " не найден.");
+        }
+    }
+
     private Item checkItemAndGet(long itemId) {
         return itemDao.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Предмет с идентификатором " + itemId + " не найден."));
     }
 
+    private GetBookingDto changeStatus(Booking booking, boolean approved) {
+        if (approved) {
+            checkPeriodIsFree(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+            booking.setStatus(BookingStatus.APPROVED);
+        } else {
+            booking.setStatus(BookingStatus.REJECTED);
+        }
+
+        try {
+            bookingDao.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new BookingConflictException("Вещь уже забронирована на этот период.");
+        }
+        if (approved) {
+            bookingTimeline.onApproved(booking);
+        }
+        return BookingMapper.bookingToDto(booking);
+    }
+
+    private List<BookingDecisionResultDto> applyDecisions(List<BookingDecisionDto> decisions, Map<Long, Booking> bookings,
+                                                          Set<Long> itemIds) {
+        List<Booking> approvedBookings = new ArrayList<>();
+        LocalDateTime earliestStart = decisions.stream()
+                .filter(BookingDecisionDto::getApproved)
+                .map(decision -> bookings.get(decision.getBookingId()))
+                .filter(Objects::nonNull)
+                .map(Booking::getStart)
+                .min(LocalDateTime::compareTo)
+                .orElse(null);
+        if (earliestStart != null) {
+            approvedBookings.addAll(bookingDao.findAllByItemIdInAndStatusAndEndGreaterThan(itemIds,
+                    BookingStatus.APPROVED, earliestStart));
+        }
+
+        List<BookingDecisionResultDto> results = new ArrayList<>();
+        Map<BookingStatus, List<Long>> bookingIdsByStatus = new EnumMap<>(BookingStatus.class);
+        Set<Long> decided = new HashSet<>();
+        for (BookingDecisionDto decision : decisions) {
+            long bookingId = decision.getBookingId();
+            Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                results.add(BookingDecisionResultDto.failed(bookingId,
+                        "Бронирование с идентификатором " + bookingId + " не найдено среди бронирований ваших вещей."));
+            } else if (!decided.add(bookingId)) {
+                results.add(BookingDecisionResultDto.failed(bookingId, "Решение по бронированию уже передано в запросе."));
+            } else if (booking.getStatus().equals(BookingStatus.APPROVED)) {
+                results.add(BookingDecisionResultDto.failed(bookingId, "Статус бронирования нельзя изменить после подтверждения."));
+            } else if (decision.getApproved() && overlapsAny(booking, approvedBookings)) {
+                results.add(BookingDecisionResultDto.failed(bookingId, "Вещь уже забронирована на этот период."));
+            } else {
+                BookingStatus status = decision.getApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+                if (decision.getApproved()) {
+                    approvedBookings.add(booking);
+                }
+                bookingIdsByStatus.computeIfAbsent(status, key -> new ArrayList<>()).add(bookingId);
+                results.add(BookingDecisionResultDto.applied(bookingId, status));
+            }
+        }
+
+        if (!bookingIdsByStatus.isEmpty()) {
+            try {
+                bookingDao.updateStatuses(bookingIdsByStatus);
+            } catch (DataIntegrityViolationException e) {
+                throw new BookingConflictException("Вещь уже забронирована на этот период.");
+            } catch (OptimisticLockingFailureException e) {
+                throw new BookingConflictException("Бронирование изменено другим запросом, повторите попытку.");
+            }
+            bookingIdsByStatus.getOrDefault(BookingStatus.APPROVED, List.of())
+                    .forEach(bookingId -> bookingTimeline.onApproved(bookings.get(bookingId)));
+        }
+        return results;
+    }
+
+    private boolean overlapsAny(Booking booking, List<Booking> approvedBookings) {
+        return approvedBookings.stream()
+                .anyMatch(approved -> Objects.equals(approved.getItem().getId(), booking.getItem().getId())
+                        && approved.getStart().isBefore(booking.getEnd())
+                        && approved.getEnd().isAfter(booking.getStart()));
+    }
+
+    private void checkStatusCanBeChanged(Booking booking) {
+        if (booking.getStatus().equals(BookingStatus.APPROVED)) {
+            throw new ValidationException("Статус бронирования нельзя изменить после подтверждения.");
+        }
+    }
+
+    private void checkPeriodIsFree(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingDao.existsByItemIdAndStatusAndStartLessThanAndEndGreaterThan(itemId, BookingStatus.APPROVED, end, start)) {
+            throw new BookingConflictException("Вещь уже забронирована на этот период.");
+        }
+    }
+
     private Booking checkBookingAndGet(long bookingId) {
         return bookingDao.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Бронирование с идентификатором " + bookingId + " не найдено."));
@@ -158,4 +360,10 @@ public class BookingServiceImpl implements BookingService {
         return QBooking.booking.status.in(BookingStatus.APPROVED, BookingStatus.CANCELED, BookingStatus.REJECTED, BookingStatus.WAITING);
     }
 
+    private BooleanExpression createSeekPredicate(BookingCursor cursor) {
+        return QBooking.booking.start.before(cursor.getStart())
+                .or(QBooking.booking.start.eq(cursor.getStart())
+                        .and(QBooking.booking.id.lt(cursor.getId())));
+    }
+
 }
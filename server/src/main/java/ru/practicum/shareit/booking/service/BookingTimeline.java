@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.TransactionCallbacks;
+import ru.practicum.shareit.booking.dao.BookingDao;
+import ru.practicum.shareit.booking.dto.BookingDtoForItemDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class BookingTimeline {
+    private static final Comparator<BookingDtoForItemDto> BY_START = Comparator
+            .comparing(BookingDtoForItemDto::getStart)
+            .thenComparing(BookingDtoForItemDto::getId);
+    private static final int MAX_ITEMS = 100_000;
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(30);
+
+    private final BookingDao bookingDao;
+    private final Cache<Long, ItemTimeline> timelines = Caffeine.newBuilder()
+            .maximumSize(MAX_ITEMS)
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+            .build();
+
+    public ItemTimeline get(Item item, LocalDateTime now) {
+        return load(List.of(item), now).get(item.getId());
+    }
+
+    public Map<Long, ItemTimeline> getAll(List<Item> items, LocalDateTime now) {
+        return load(items, now);
+    }
+
+    public void onApproved(Booking booking) {
+        long itemId = booking.getItem().getId();
+        BookingDtoForItemDto approved = BookingMapper.bookingToBookingDtoForItemDto(booking);
+        TransactionCallbacks.afterCommit(() -> {
+            ItemTimeline timeline = timelines.getIfPresent(itemId);
+            if (timeline != null) {
+                timeline.add(approved);
+            }
+        });
+    }
+
+    public void evict(long itemId) {
+        TransactionCallbacks.afterCommit(() -> timelines.invalidate(itemId));
+    }
+
+    private Map<Long, ItemTimeline> load(List<Item> items, LocalDateTime now) {
+        Map<Long, ItemTimeline> result = items.stream()
+                .collect(Collectors.toMap(Item::getId,
+                        item -> timelines.get(item.getId(), itemId -> new ItemTimeline())));
+        List<Long> stale = result.entrySet().stream()
+                .filter(entry -> entry.getValue().isStale(now))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (!stale.isEmpty()) {
+            Map<Long, LocalDateTime> horizons = new HashMap<>();
+            for (Booking booking : bookingDao.findLastAndNextByItemIds(stale, BookingStatus.APPROVED, now)) {
+                result.get(booking.getItem().getId()).add(BookingMapper.bookingToBookingDtoForItemDto(booking));
+                if (booking.getStart().isAfter(now)) {
+                    horizons.put(booking.getItem().getId(), booking.getStart());
+                }
+            }
+            stale.forEach(itemId -> result.get(itemId)
+                    .completeUntil(horizons.getOrDefault(itemId, LocalDateTime.MAX)));
+        }
+        return result;
+    }
+
+    public static class ItemTimeline {
+        private final NavigableSet<BookingDtoForItemDto> bookings = new ConcurrentSkipListSet<>(BY_START);
+        private volatile LocalDateTime completeUntil;
+
+        public BookingDtoForItemDto findLast(LocalDateTime now) {
+            BookingDtoForItemDto last = bookings.floor(probe(now));
+            if (last != null) {
+                bookings.headSet(last, false).clear();
+            }
+            return last;
+        }
+
+        public BookingDtoForItemDto findNext(LocalDateTime now) {
+            return bookings.higher(probe(now));
+        }
+
+        private void add(BookingDtoForItemDto booking) {
+            bookings.add(booking);
+        }
+
+        private boolean isStale(LocalDateTime now) {
+            LocalDateTime until = completeUntil;
+            return until == null || !now.isBefore(until);
+        }
+
+        private synchronized void completeUntil(LocalDateTime horizon) {
+            if (completeUntil == null || horizon.isAfter(completeUntil)) {
+                completeUntil = horizon;
+            }
+        }
+
+        private static BookingDtoForItemDto probe(LocalDateTime now) {
+            return BookingDtoForItemDto.builder()
+                    .start(now)
+                    .id(Long.MAX_VALUE)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+class StripedLock {
+    private final Lock[] stripes;
+
+    StripedLock(int stripes) {
+        this.stripes = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    Lock get(long key) {
+        return stripes[indexOf(key)];
+    }
+
+    List<Lock> getAll(Collection<Long> keys) {
+        return keys.stream()
+                .mapToInt(this::indexOf)
+                .distinct()
+                .sorted()
+                .mapToObj(index -> stripes[index])
+                .collect(Collectors.toList());
+    }
+
+    private int indexOf(long key) {
+        return Math.floorMod(Long.hashCode(key), stripes.length);
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.diagnostics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DiagnosticsConfig {
+
+    @Bean
+    public DiagnosticsSampler diagnosticsSampler(@Value("${shareit.diagnostics.sample-rate:0}") double sampleRate) {
+        return new DiagnosticsSampler(sampleRate);
+    }
+
+    @Bean
+    public DiagnosticsFilter diagnosticsFilter(DiagnosticsSampler diagnosticsSampler) {
+        return new DiagnosticsFilter(diagnosticsSampler);
+    }
+
+    @Bean
+    public DiagnosticsEndpoint diagnosticsEndpoint(DiagnosticsSampler diagnosticsSampler) {
+        return new DiagnosticsEndpoint(diagnosticsSampler);
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.Map;
+
+@Slf4j
+@Endpoint(id = "diagnostics")
+@RequiredArgsConstructor
+public class DiagnosticsEndpoint {
+    private final DiagnosticsSampler sampler;
+
+    @ReadOperation
+    public Map<String, Object> diagnostics() {
+        return Map.of("sampleRate", sampler.getSampleRate());
+    }
+
+    @WriteOperation
+    public Map<String, Object> setSampleRate(double sampleRate) {
+        if (!DiagnosticsSampler.isValid(sampleRate)) {
+            throw new InvalidEndpointRequestException("Доля запросов для диагностики должна быть от 0 до 1",
+                    "sampleRate вне диапазона [0, 1]");
+        }
+        sampler.setSampleRate(sampleRate);
+        log.info("Доля запросов для диагностики изменена на {}", sampleRate);
+        return diagnostics();
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@RequiredArgsConstructor
+public class DiagnosticsFilter extends OncePerRequestFilter {
+    public static final String MDC_KEY = "diagnostic";
+
+    private final DiagnosticsSampler sampler;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!sampler.sample()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        MDC.put(MDC_KEY, Long.toHexString(ThreadLocalRandom.current().nextLong()));
+        try {
+            log.info("Диагностика запроса {} {}", request.getMethod(), request.getRequestURI());
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
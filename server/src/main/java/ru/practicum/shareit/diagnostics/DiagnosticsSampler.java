@@ -0,0 +1,31 @@
+package ru.practicum.shareit.diagnostics;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class DiagnosticsSampler {
+    private volatile double sampleRate;
+
+    public DiagnosticsSampler(double sampleRate) {
+        setSampleRate(sampleRate);
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        if (!isValid(sampleRate)) {
+            throw new IllegalArgumentException("Доля запросов для диагностики должна быть от 0 до 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean sample() {
+        double rate = sampleRate;
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    static boolean isValid(double sampleRate) {
+        return sampleRate >= 0 && sampleRate <= 1;
+    }
+}
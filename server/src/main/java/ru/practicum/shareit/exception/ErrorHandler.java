@@ -35,9 +35,9 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
-    @ExceptionHandler
+    @ExceptionHandler({DataIntegrityViolationException.class, BookingConflictException.class})
     @ResponseStatus(HttpStatus.CONFLICT)
-    public ErrorResponse constraint(DataIntegrityViolationException e) {
+    public ErrorResponse constraint(final RuntimeException e) {
         log.info("Получен статус 409 Bad Request {}", e.getMessage(), e);
         return new ErrorResponse(e.getMessage());
     }
@@ -25,6 +25,12 @@ public class ItemController {
         return itemService.createItem(itemDto, userId);
     }
 
+    @PostMapping("/import")
+    public List<ItemDto> importItems(@RequestBody List<ItemDto> itemDtos, @RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Получен запрос POST /items/import на {} предметов", itemDtos.size());
+        return itemService.createItems(itemDtos, userId);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestBody ItemDto itemDto, @PathVariable long itemId,
                               @RequestHeader("X-Sharer-User-Id") long userId) {
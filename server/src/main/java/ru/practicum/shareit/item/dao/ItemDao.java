@@ -14,9 +14,14 @@ public interface ItemDao extends JpaRepository<Item, Long>, QuerydslPredicateExe
 
     List<Item> findAllByOwnerIdOrderById(long id, PageRequest page);
 
-    @Query("SELECT it FROM Item AS it WHERE LOWER(it.name) LIKE %:text% OR LOWER(it.description) LIKE %:text% AND it.available = true")
+    @Query("SELECT it FROM Item AS it " +
+            "WHERE (LOWER(it.name) LIKE %:text% OR LOWER(it.description) LIKE %:text%) " +
+            "AND it.available = true " +
+            "ORDER BY CASE WHEN LOWER(it.name) LIKE %:text% THEN 0 ELSE 1 END, it.id")
     List<Item> searchByText(@Param("text") String text, PageRequest page);
 
+    List<Item> findFirst1000ByIdGreaterThanOrderById(long id);
+
     @Query("SELECT it FROM Item AS it WHERE it.request IN :itemRequests ORDER BY it.request.id, it.id")
     List<Item> findAllByItemRequests(List<ItemRequest> itemRequests);
 }
@@ -0,0 +1,249 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.TransactionCallbacks;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+
+    private final ItemDao itemDao;
+    private final boolean enabled;
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Postings allIds = new Postings();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemDao itemDao, @Value("${shareit.search.in-memory:false}") boolean enabled) {
+        this.itemDao = itemDao;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemDao.findFirst1000ByIdGreaterThanOrderById(lastId);
+            batch.forEach(item -> index(item.getId(), Document.of(item)));
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (!batch.isEmpty());
+        ready = true;
+        log.info("Построен поисковый индекс по {} вещам", size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void add(Item item) {
+        if (!enabled) {
+            return;
+        }
+        long itemId = item.getId();
+        Document document = Document.of(item);
+        TransactionCallbacks.afterCommit(() -> index(itemId, document));
+    }
+
+    public void update(Item item) {
+        if (!enabled) {
+            return;
+        }
+        long itemId = item.getId();
+        Document document = Document.of(item);
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(itemId);
+                index(itemId, document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(long itemId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> unindex(itemId));
+    }
+
+    public List<Long> search(String text, int offset, int size) {
+        lock.readLock().lock();
+        try {
+            List<Long> byName = new ArrayList<>();
+            List<Long> byDescription = new ArrayList<>();
+            Postings candidates = candidates(text);
+            for (int i = 0; i < candidates.size; i++) {
+                long itemId = candidates.ids[i];
+                Document document = documents.get(itemId);
+                if (document.name.contains(text)) {
+                    byName.add(itemId);
+                } else if (document.description.contains(text)) {
+                    byDescription.add(itemId);
+                }
+            }
+            byName.addAll(byDescription);
+            if (offset >= byName.size()) {
+                return List.of();
+            }
+            return List.copyOf(byName.subList(offset, Math.min(offset + size, byName.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(long itemId, Document document) {
+        if (document == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            documents.put(itemId, document);
+            allIds.add(itemId);
+            for (long gram : grams(document.name + "\n" + document.description)) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(itemId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(long itemId) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.remove(itemId);
+            if (document == null) {
+                return;
+            }
+            allIds.remove(itemId);
+            for (long gram : grams(document.name + "\n" + document.description)) {
+                Postings ids = postings.get(gram);
+                ids.remove(itemId);
+                if (ids.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Postings candidates(String text) {
+        long[] grams = grams(text);
+        if (grams.length == 0) {
+            return allIds;
+        }
+        List<Postings> lists = new ArrayList<>(grams.length);
+        for (long gram : grams) {
+            Postings ids = postings.get(gram);
+            if (ids == null) {
+                return new Postings();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(ids -> ids.size));
+        Postings smallest = lists.get(0);
+        Postings result = new Postings();
+        for (int i = 0; i < smallest.size; i++) {
+            long itemId = smallest.ids[i];
+            boolean inAll = true;
+            for (int j = 1; j < lists.size() && inAll; j++) {
+                inAll = lists.get(j).contains(itemId);
+            }
+            if (inAll) {
+                result.add(itemId);
+            }
+        }
+        return result;
+    }
+
+    private static long[] grams(String text) {
+        if (text.length() < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    @RequiredArgsConstructor
+    private static class Document {
+        private final String name;
+        private final String description;
+
+        private static Document of(Item item) {
+            if (!Boolean.TRUE.equals(item.getAvailable())) {
+                return null;
+            }
+            return new Document(item.getName().toLowerCase(), item.getDescription().toLowerCase());
+        }
+    }
+
+    private static class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        private void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+
+        private boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -10,6 +10,8 @@ import java.util.List;
 public interface ItemService {
     ItemDto createItem(ItemDto itemDto, long userId);
 
+    List<ItemDto> createItems(List<ItemDto> itemDtos, long userId);
+
     ItemDto updateItem(ItemDto itemDto, long itemId, long userId);
 
     ItemDtoWithBooking getById(long itemId, long userId);
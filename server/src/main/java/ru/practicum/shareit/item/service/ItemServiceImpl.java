@@ -1,14 +1,15 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dao.BookingDao;
 import ru.practicum.shareit.booking.dto.BookingDtoForItemDto;
-import ru.practicum.shareit.booking.dto.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingTimeline;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.dao.CommentDao;
 import ru.practicum.shareit.item.dao.ItemDao;
@@ -19,19 +20,25 @@ import ru.practicum.shareit.request.dao.ItemRequestDao;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserIdCache;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static org.springframework.data.domain.Sort.Direction.DESC;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class ItemServiceImpl implements ItemService {
 
     private final ItemDao itemDao;
@@ -39,8 +46,12 @@ public class ItemServiceImpl implements ItemService {
     private final BookingDao bookingDao;
     private final CommentDao commentDao;
     private final ItemRequestDao itemRequestDao;
+    private final BookingTimeline bookingTimeline;
+    private final UserIdCache userIdCache;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
+    @Transactional
     public ItemDto createItem(ItemDto itemDto, long userId) {
         User user = checkUserAndGet(userId);
 
@@ -53,22 +64,57 @@ public class ItemServiceImpl implements ItemService {
 
         Item item = ItemMapper.dtoToItem(itemDto, user, itemRequest);
         Item savedItem = itemDao.save(item);
+        itemDao.flush();
+        itemSearchIndex.add(savedItem);
         ItemDto savedItemDto = ItemMapper.itemToDto(savedItem);
         return savedItemDto;
     }
 
     @Override
-    public ItemDtoWithBooking getById(long itemId, long userId) {
+    @Transactional
+    public List<ItemDto> createItems(List<ItemDto> itemDtos, long userId) {
         User user = checkUserAndGet(userId);
+
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(toSet());
+        Map<Long, ItemRequest> itemRequests = itemRequestDao.findAllById(requestIds).stream()
+                .collect(toMap(ItemRequest::getId, identity()));
+
+        List<Item> items = new ArrayList<>(itemDtos.size());
+        for (ItemDto itemDto : itemDtos) {
+            Long requestId = itemDto.getRequestId();
+            ItemRequest itemRequest = null;
+            if (requestId != null) {
+                itemRequest = itemRequests.get(requestId);
+                if (itemRequest == null) {
+                    throw new ItemRequestNotFoundException("Запрос с идентификатором " + requestId + " не найден.");
+                }
+            }
+            items.add(ItemMapper.dtoToItem(itemDto, user, itemRequest));
+        }
+
+        List<Item> savedItems = itemDao.saveAll(items);
+        itemDao.flush();
+        savedItems.forEach(itemSearchIndex::add);
+        return savedItems.stream()
+                .map(ItemMapper::itemToDto)
+                .collect(toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemDtoWithBooking getById(long itemId, long userId) {
+        checkUserExists(userId);
         Item item = checkItemAndGet(itemId);
 
         ItemDtoWithBooking itemDtoWithBooking;
-        if (item.getOwner().getId().equals(user.getId())) {
+        if (item.getOwner().getId().equals(userId)) {
             LocalDateTime now = LocalDateTime.now();
-            BookingDtoForItemDto bookingDtoLast =
-                    BookingMapper.bookingToBookingDtoForItemDto(bookingDao.findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDesc(item.getId(), BookingStatus.APPROVED, now));
-            BookingDtoForItemDto bookingDtoNext =
-                    BookingMapper.bookingToBookingDtoForItemDto(bookingDao.findFirstByItemIdAndStatusAndStartGreaterThanOrderByStart(item.getId(), BookingStatus.APPROVED, now));
+            BookingTimeline.ItemTimeline timeline = bookingTimeline.get(item, now);
+            BookingDtoForItemDto bookingDtoLast = timeline.findLast(now);
+            BookingDtoForItemDto bookingDtoNext = timeline.findNext(now);
             itemDtoWithBooking = ItemMapper.itemToDtoWithDate(item, bookingDtoLast, bookingDtoNext);
         } else {
             itemDtoWithBooking = ItemMapper.itemToDtoWithDate(item, null, null);
@@ -81,6 +127,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional
     public ItemDto updateItem(ItemDto itemDto, long itemId, long userId) {
         User user = checkUserAndGet(userId);
         Item oldItem = checkItemAndGet(itemId);
@@ -90,10 +137,14 @@ public class ItemServiceImpl implements ItemService {
         }
 
         updateItem(itemDto, oldItem);
-        return ItemMapper.itemToDto(itemDao.save(oldItem));
+        Item updatedItem = itemDao.save(oldItem);
+        itemDao.flush();
+        itemSearchIndex.update(updatedItem);
+        return ItemMapper.itemToDto(updatedItem);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDtoWithBooking> findAllItemsByOwnerId(long userId, int from, int size) {
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
         List<Item> items = itemDao.findAllByOwnerIdOrderById(userId, page);
@@ -109,18 +160,12 @@ public class ItemServiceImpl implements ItemService {
                 .stream()
                 .collect(Collectors.groupingBy(Comment::getItem, toList()));
 
-        Map<Long, Booking> lastBookings = bookingDao.findLastByItems(items, BookingStatus.APPROVED, now)
-                .stream()
-                .collect(Collectors.toMap(b -> b.getItem().getId(), identity(), (existing, replacement) -> existing));
-
-        Map<Long, Booking> nextBookings = bookingDao.findNextByItems(items, BookingStatus.APPROVED, now)
-                .stream()
-                .collect(Collectors.toMap(b -> b.getItem().getId(), identity(), (existing, replacement) -> existing));
+        Map<Long, BookingTimeline.ItemTimeline> timelines = bookingTimeline.getAll(items, now);
 
         for (Item item : items) {
-            BookingDtoForItemDto bookingDtoLast = BookingMapper.bookingToBookingDtoForItemDto(lastBookings.get(item.getId()));
-
-            BookingDtoForItemDto bookingDtoNext = bookingDtoNext = BookingMapper.bookingToBookingDtoForItemDto(nextBookings.get(item.getId()));
+            BookingTimeline.ItemTimeline timeline = timelines.get(item.getId());
+            BookingDtoForItemDto bookingDtoLast = timeline.findLast(now);
+            BookingDtoForItemDto bookingDtoNext = timeline.findNext(now);
 
             ItemDtoWithBooking itemDtoWithBooking = ItemMapper.itemToDtoWithDate(item, bookingDtoLast, bookingDtoNext);
             List<CommentDtoResponse> commentsDto = ItemMapper.commentsToDtoResponse(comments.get(item));
@@ -131,23 +176,40 @@ public class ItemServiceImpl implements ItemService {
         return itemDtoWithBookings;
     }
 
+    @Override
+    @Transactional
     public void deleteItem(long id) {
         itemDao.deleteById(id);
+        itemDao.flush();
+        bookingTimeline.evict(id);
+        itemSearchIndex.remove(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> searchByText(String text, int from, int size) {
         if (text.isBlank()) {
             return List.of();
         }
 
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
+        if (itemSearchIndex.isReady()) {
+            List<Long> ids = itemSearchIndex.search(text.toLowerCase(), (int) page.getOffset(), size);
+            Map<Long, Item> items = itemDao.findAllById(ids).stream()
+                    .collect(toMap(Item::getId, identity()));
+            return ids.stream()
+                    .map(items::get)
+                    .filter(Objects::nonNull)
+                    .map(ItemMapper::itemToDto)
+                    .collect(toList());
+        }
         return itemDao.searchByText(text.toLowerCase(), page).stream()
                 .map(ItemMapper::itemToDto)
                 .collect(toList());
     }
 
     @Override
+    @Transactional
     public CommentDtoResponse addComment(CommentDto commentDto, long userId, long itemId) {
         Item item = checkItemAndGet(itemId);
         User user = checkUserAndGet(userId);
@@ -168,6 +230,12 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new UserNotFoundException("Пользователь с идентификатором " + userId + " не найден."));
     }
 
+    private void checkUserExists(long userId) {
+        if (!userIdCache.exists(userId)) {
+            throw new UserNotFoundException("Пользователь с идентификатором " + userId + " не найден.");
+        }
+    }
+
     private Item checkItemAndGet(long itemId) {
         return itemDao.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Предмет с идентификатором " + itemId + " не найден."));
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer(MeterRegistry meterRegistry) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new SqlStatementInspector(meterRegistry));
+    }
+
+    @Bean
+    public SqlStatementsInterceptor sqlStatementsInterceptor(MeterRegistry meterRegistry) {
+        return new SqlStatementsInterceptor(meterRegistry);
+    }
+}
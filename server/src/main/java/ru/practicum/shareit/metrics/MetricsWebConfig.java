@@ -0,0 +1,18 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class MetricsWebConfig implements WebMvcConfigurer {
+    private final ObjectProvider<SqlStatementsInterceptor> sqlStatementsInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        sqlStatementsInterceptor.ifAvailable(registry::addInterceptor);
+    }
+}
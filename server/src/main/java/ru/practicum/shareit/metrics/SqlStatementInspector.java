@@ -0,0 +1,69 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RequiredArgsConstructor
+public class SqlStatementInspector implements StatementInspector {
+    static final String STATEMENTS = "shareit.sql.statements";
+    static final String REQUEST_STATEMENTS = SqlStatementInspector.class.getName() + ".STATEMENTS";
+    static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public String inspect(String sql) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        meterRegistry.counter(STATEMENTS,
+                "method", method(attributes),
+                "uri", uri(attributes),
+                "type", type(sql)).increment();
+        if (attributes != null) {
+            AtomicInteger statements = (AtomicInteger) attributes.getAttribute(REQUEST_STATEMENTS,
+                    RequestAttributes.SCOPE_REQUEST);
+            if (statements != null) {
+                statements.incrementAndGet();
+            }
+        }
+        return sql;
+    }
+
+    private static String method(RequestAttributes attributes) {
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getMethod();
+        }
+        return NONE;
+    }
+
+    private static String uri(RequestAttributes attributes) {
+        Object pattern = attributes == null ? null
+                : attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? NONE : pattern.toString();
+    }
+
+    private static String type(String sql) {
+        String statement = sql.stripLeading();
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        String keyword = statement.substring(0, end).toLowerCase(Locale.ROOT);
+        switch (keyword) {
+            case "select":
+            case "insert":
+            case "update":
+            case "delete":
+                return keyword;
+            default:
+                return "other";
+        }
+    }
+}
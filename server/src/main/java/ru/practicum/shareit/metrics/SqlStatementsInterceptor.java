@@ -0,0 +1,44 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RequiredArgsConstructor
+public class SqlStatementsInterceptor implements HandlerInterceptor {
+    static final String STATEMENTS_PER_REQUEST = "shareit.sql.statements.per.request";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(SqlStatementInspector.REQUEST_STATEMENTS) == null) {
+            request.setAttribute(SqlStatementInspector.REQUEST_STATEMENTS, new AtomicInteger());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        AtomicInteger statements = (AtomicInteger) request.getAttribute(SqlStatementInspector.REQUEST_STATEMENTS);
+        if (statements == null) {
+            return;
+        }
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(STATEMENTS_PER_REQUEST)
+                .tag("method", request.getMethod())
+                .tag("uri", uri == null ? SqlStatementInspector.NONE : uri.toString())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1_000.0)
+                .register(meterRegistry)
+                .record(statements.get());
+    }
+}
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.dao.ItemDao;
 import ru.practicum.shareit.item.model.Item;
@@ -13,6 +15,7 @@ import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserIdCache;
 
 import java.util.List;
 import java.util.Map;
@@ -22,13 +25,16 @@ import static java.util.stream.Collectors.toList;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestDao itemRequestDao;
     private final UserDao userDao;
     private final ItemDao itemDao;
+    private final UserIdCache userIdCache;
 
     @Override
+    @Transactional
     public GetItemRequestDto createItemRequest(AddItemRequestDto itemRequestDto, long userId) {
         User requester = checkUserAndGet(userId);
 
@@ -38,8 +44,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<GetItemRequestDto> findAllByRequesterId(long requesterId) {
-        checkUserAndGet(requesterId);
+        checkUserExists(requesterId);
 
         List<ItemRequest> itemRequests = itemRequestDao.findAllByRequesterIdOrderByCreatedDesc(requesterId);
 
@@ -49,8 +56,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<GetItemRequestDto> findAll(long userId, int from, int size) {
-        checkUserAndGet(userId);
+        checkUserExists(userId);
 
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
         List<ItemRequest> itemRequests = itemRequestDao.findAllByRequesterIdIsNotOrderByCreatedDesc(userId, page);
@@ -61,8 +69,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public GetItemRequestDto getById(long itemId, long userId) {
-        checkUserAndGet(userId);
+        checkUserExists(userId);
 
         ItemRequest itemRequest = itemRequestDao.findById(itemId)
                 .orElseThrow(() -> new UserNotFoundException("Запрос с идентификатором " + itemId + " не найден."));
@@ -76,6 +85,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .orElseThrow(() -> new UserNotFoundException("Пользователь с идентификатором " + userId + " не найден."));
     }
 
+    private void checkUserExists(long userId) {
+        if (!userIdCache.exists(userId)) {
+            throw new UserNotFoundException("Пользователь с идентификатором " + userId + " не найден.");
+        }
+    }
+
     private Map<Long, List<Item>> getItemsByItemRequests(List<ItemRequest> itemRequests) {
         return itemDao.findAllByItemRequests(itemRequests)
                 .stream()
@@ -1,7 +1,14 @@
 package ru.practicum.shareit.user.dao;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 public interface UserDao extends JpaRepository<User, Long> {
+
+    @Query("SELECT u.id FROM User u ORDER BY u.id DESC")
+    List<Long> findIds(Pageable page);
 }
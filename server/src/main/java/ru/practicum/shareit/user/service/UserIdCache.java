@@ -0,0 +1,42 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.TransactionCallbacks;
+import ru.practicum.shareit.user.dao.UserDao;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserIdCache {
+    private static final int MAX_SIZE = 100_000;
+
+    private final UserDao userDao;
+    private final Cache<Long, Boolean> ids = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .build();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        userDao.findIds(PageRequest.of(0, MAX_SIZE)).forEach(id -> ids.put(id, Boolean.TRUE));
+        log.info("Загружено {} идентификаторов пользователей", ids.estimatedSize());
+    }
+
+    public boolean exists(long userId) {
+        return ids.get(userId, id -> userDao.existsById(id) ? Boolean.TRUE : null) != null;
+    }
+
+    public void add(long userId) {
+        TransactionCallbacks.afterCommit(() -> ids.put(userId, Boolean.TRUE));
+    }
+
+    public void remove(long userId) {
+        TransactionCallbacks.afterCommit(() -> ids.invalidate(userId));
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -13,25 +15,32 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class UserServiceImpl implements UserService {
 
     private final UserDao userDao;
+    private final UserIdCache userIdCache;
 
     @Override
+    @Transactional
     public UserDto createUser(UserDto userDto) {
         User user = UserMapper.dtoToUser(userDto);
         User savedUser = userDao.save(user);
+        userDao.flush();
+        userIdCache.add(savedUser.getId());
         UserDto savedDto = UserMapper.userToDto(savedUser);
         return savedDto;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto getById(long userId) {
         User user = checkUserAndGet(userId);
         return UserMapper.userToDto(user);
     }
 
     @Override
+    @Transactional
     public UserDto updateUser(UserDto userDto, Long userId) {
         User oldUser = checkUserAndGet(userId);
 
@@ -42,6 +51,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> findAllUsers() {
         return userDao.findAll().stream()
                 .map(UserMapper::userToDto)
@@ -49,8 +59,11 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(long id) {
         userDao.deleteById(id);
+        userDao.flush();
+        userIdCache.remove(id);
     }
 
     private User checkUserAndGet(long userId) {
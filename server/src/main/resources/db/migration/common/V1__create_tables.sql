@@ -1,10 +1,4 @@
-DROP TABLE IF EXISTS "comments" CASCADE;
-DROP TABLE IF EXISTS "bookings" CASCADE;
-DROP TABLE IF EXISTS "items" CASCADE;
-DROP TABLE IF EXISTS "requests" CASCADE;
-DROP TABLE IF EXISTS "users" CASCADE;
-
-CREATE TABLE IF NOT EXISTS users (
+CREATE TABLE users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name varchar(255) NOT NULL,
     email varchar(74) NOT NULL,
@@ -12,7 +6,7 @@ CREATE TABLE IF NOT EXISTS users (
     CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
 
-CREATE TABLE IF NOT EXISTS requests (
+CREATE TABLE requests (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     description varchar(512) NOT NULL,
     requester_id BIGINT NOT NULL,
@@ -21,7 +15,7 @@ CREATE TABLE IF NOT EXISTS requests (
     CONSTRAINT fk_requests_to_users FOREIGN KEY(requester_id) REFERENCES users(id)
 );
 
-CREATE TABLE IF NOT EXISTS items (
+CREATE TABLE items (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name varchar(255) NOT NULL,
     description varchar(512) NOT NULL,
@@ -33,7 +27,7 @@ CREATE TABLE IF NOT EXISTS items (
     CONSTRAINT fk_item_to_request FOREIGN KEY(request_id) REFERENCES requests(id)
 );
 
-CREATE TABLE IF NOT EXISTS bookings (
+CREATE TABLE bookings (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     start_date timestamp NOT NULL,
     end_date timestamp NOT NULL,
@@ -45,7 +39,7 @@ CREATE TABLE IF NOT EXISTS bookings (
     CONSTRAINT fk_booking_to_item FOREIGN KEY(item_id) REFERENCES items(id)
 );
 
-CREATE TABLE IF NOT EXISTS comments (
+CREATE TABLE comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     text varchar(512) NOT NULL,
     author_id BIGINT NOT NULL,
@@ -54,4 +48,4 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT pk_comment PRIMARY KEY (id),
     CONSTRAINT fk_comments_to_users FOREIGN KEY(author_id) REFERENCES users(id),
     CONSTRAINT fk_comments_to_item FOREIGN KEY(item_id) REFERENCES items(id)
-);
\ No newline at end of file
+);
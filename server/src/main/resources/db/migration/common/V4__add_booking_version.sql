@@ -0,0 +1 @@
+ALTER TABLE bookings ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,38 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO $$
+DECLARE
+    booking RECORD;
+    kept_item_id BIGINT;
+    kept_end_date TIMESTAMP;
+    reset_count BIGINT := 0;
+BEGIN
+    FOR booking IN
+        SELECT b.id, b.item_id, b.start_date, b.end_date
+        FROM bookings b
+        WHERE b.status = 'APPROVED'
+          AND b.item_id IN (SELECT o.item_id
+                            FROM bookings o
+                            JOIN bookings p ON p.item_id = o.item_id AND p.id <> o.id
+                            WHERE o.status = 'APPROVED'
+                              AND p.status = 'APPROVED'
+                              AND p.start_date < o.end_date
+                              AND o.start_date < p.end_date)
+        ORDER BY b.item_id, b.start_date, b.id
+    LOOP
+        IF booking.item_id = kept_item_id AND booking.start_date < kept_end_date THEN
+            UPDATE bookings SET status = 'WAITING' WHERE id = booking.id;
+            reset_count := reset_count + 1;
+        ELSE
+            kept_item_id := booking.item_id;
+            kept_end_date := booking.end_date;
+        END IF;
+    END LOOP;
+    IF reset_count > 0 THEN
+        RAISE WARNING 'Пересекающиеся подтверждённые бронирования возвращены в WAITING: %', reset_count;
+    END IF;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_approved_period
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (status = 'APPROVED');
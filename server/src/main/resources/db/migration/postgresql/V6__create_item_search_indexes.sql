@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_name_trgm ON items
+    USING gin (LOWER(name) gin_trgm_ops) WHERE available = true;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_description_trgm ON items
+    USING gin (LOWER(description) gin_trgm_ops) WHERE available = true;
@@ -0,0 +1,75 @@
+package ru.practicum.shareit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingOverlapMigrationTest {
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 10, 12, 0);
+
+    private EmbeddedPostgres postgres;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void migrate_whenApprovedBookingsOverlap_thenResetLaterOnesToWaiting() {
+        migrate("2");
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'Serj Tankian', 'serjtankian@mail.com')");
+        jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id) "
+                + "VALUES (1, 'Дрель', 'Аккумуляторная дрель', true, 1), (2, 'Пила', 'Ручная пила', true, 1)");
+        insertBooking(1, 1, START, START.plusDays(3), "APPROVED");
+        insertBooking(2, 1, START.plusDays(1), START.plusDays(2), "APPROVED");
+        insertBooking(3, 1, START.plusDays(2), START.plusDays(4), "APPROVED");
+        insertBooking(4, 1, START.plusDays(3), START.plusDays(5), "APPROVED");
+        insertBooking(5, 1, START.plusDays(1), START.plusDays(2), "REJECTED");
+        insertBooking(6, 2, START, START.plusDays(3), "APPROVED");
+
+        migrate(null);
+
+        assertThat(statuses(), equalTo(Map.of(1L, "APPROVED", 2L, "WAITING", 3L, "WAITING", 4L, "APPROVED",
+                5L, "REJECTED", 6L, "APPROVED")));
+        assertThrows(Exception.class, () -> insertBooking(7, 1, START, START.plusDays(1), "APPROVED"));
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .target(target == null ? "latest" : target)
+                .load()
+                .migrate();
+    }
+
+    private void insertBooking(long id, long itemId, LocalDateTime start, LocalDateTime end, String status) {
+        jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, booker_id, item_id, status) "
+                + "VALUES (?, ?, ?, 1, ?, ?)", id, start, end, itemId, status);
+    }
+
+    private Map<Long, String> statuses() {
+        return jdbcTemplate.queryForList("SELECT id, status FROM bookings").stream()
+                .collect(Collectors.toMap(row -> ((Number) row.get("id")).longValue(),
+                        row -> (String) row.get("status")));
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.diagnostics.DiagnosticsFilter;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "db.name=test")
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class DiagnosticsTest {
+
+    private final MockMvc mvc;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    private final ListAppender<ILoggingEvent> sqlEvents = new ListAppender<>();
+    private Logger sqlLogger;
+    private UserDto owner;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        sqlLogger = (Logger) LoggerFactory.getLogger("org.hibernate.SQL");
+        sqlEvents.start();
+        sqlLogger.addAppender(sqlEvents);
+        owner = userService.createUser(UserDto.builder()
+                .name("Serj Tankian")
+                .email("serjtankian@mail.com")
+                .build());
+        item = itemService.createItem(ItemDto.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build(), owner.getId());
+        sqlEvents.list.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlLogger.detachAppender(sqlEvents);
+    }
+
+    @Test
+    void getItem_whenSamplingIsOff_thenNoSqlLogged() throws Exception {
+        mvc.perform(get("/actuator/diagnostics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sampleRate", is(0.0)));
+
+        getItem();
+
+        assertThat(sqlEvents.list, empty());
+    }
+
+    @Test
+    void getItem_whenEveryRequestIsSampled_thenSqlLoggedWithDiagnosticId() throws Exception {
+        mvc.perform(post("/actuator/diagnostics")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sampleRate\":1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sampleRate", is(1.0)));
+
+        getItem();
+
+        assertThat(sqlEvents.list, not(empty()));
+        assertThat(sqlEvents.list.stream()
+                .map(event -> event.getMDCPropertyMap().containsKey(DiagnosticsFilter.MDC_KEY))
+                .collect(Collectors.toList()), everyItem(is(true)));
+    }
+
+    @Test
+    void setSampleRate_whenOutOfRange_thenBadRequest() throws Exception {
+        mvc.perform(post("/actuator/diagnostics")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sampleRate\":2}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void getItem() throws Exception {
+        mvc.perform(get("/items/{itemId}", item.getId())
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class IdSequenceMigrationTest {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserDao userDao;
+    private final ItemDao itemDao;
+
+    @Test
+    void idColumns_whenMigrated_thenDefaultToSequences() {
+        List<Map<String, Object>> columns = jdbcTemplate.queryForList("SELECT table_name, is_identity, column_default "
+                + "FROM information_schema.columns WHERE table_schema = 'PUBLIC' AND column_name = 'ID' "
+                + "AND table_name IN ('USERS', 'REQUESTS', 'ITEMS', 'BOOKINGS', 'COMMENTS')");
+
+        assertThat(columns, hasSize(5));
+        for (Map<String, Object> column : columns) {
+            String table = (String) column.get("TABLE_NAME");
+            assertThat(table, column.get("IS_IDENTITY"), equalTo("NO"));
+            assertThat(table, (String) column.get("COLUMN_DEFAULT"), containsStringIgnoringCase(table + "_SEQ"));
+        }
+    }
+
+    @Test
+    void saveUser_whenRowsAreInsertedByHand_thenIdsDoNotCollide() {
+        insertUser("Serj Tankian", "serjtankian@mail.com");
+        User daron = userDao.saveAndFlush(User.builder().name("Daron Malakian").email("daronmalakian@mail.com").build());
+        insertUser("Shavo Odadjian", "shavoodadjian@mail.com");
+        User john = userDao.saveAndFlush(User.builder().name("John Dolmayan").email("johndolmayan@mail.com").build());
+
+        assertThat(Set.copyOf(jdbcTemplate.queryForList("SELECT id FROM users", Long.class)), hasSize(4));
+        assertThat(userDao.findById(daron.getId()).orElseThrow().getName(), equalTo("Daron Malakian"));
+        assertThat(userDao.findById(john.getId()).orElseThrow().getName(), equalTo("John Dolmayan"));
+    }
+
+    @Test
+    void saveItem_whenRowsAreInsertedByHand_thenIdsDoNotCollide() {
+        User owner = userDao.saveAndFlush(User.builder().name("Serj Tankian").email("serjtankian@mail.com").build());
+        insertItem("Дрель", owner.getId());
+        Item saw = itemDao.saveAndFlush(Item.builder()
+                .name("Пила")
+                .description("Ручная пила")
+                .available(true)
+                .owner(owner)
+                .build());
+        insertItem("Отвёртка", owner.getId());
+
+        assertThat(Set.copyOf(jdbcTemplate.queryForList("SELECT id FROM items", Long.class)), hasSize(3));
+        assertThat(itemDao.findById(saw.getId()).orElseThrow().getName(), equalTo("Пила"));
+    }
+
+    private void insertUser(String name, String email) {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", name, email);
+    }
+
+    private void insertItem(String name, long ownerId) {
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, TRUE, ?)",
+                name, name, ownerId);
+    }
+}
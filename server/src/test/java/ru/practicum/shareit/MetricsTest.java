@@ -0,0 +1,76 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "db.name=test")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class MetricsTest {
+
+    private final MockMvc mvc;
+    private final MeterRegistry meterRegistry;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    @Test
+    void getItem_thenRecordServiceTimerAndStatementsPerEndpoint() throws Exception {
+        UserDto owner = userService.createUser(UserDto.builder()
+                .name("Serj Tankian")
+                .email("serjtankian@mail.com")
+                .build());
+        ItemDto item = itemService.createItem(ItemDto.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build(), owner.getId());
+
+        mvc.perform(get("/items/{itemId}", item.getId())
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("shareit.service")
+                .tags("class", ItemServiceImpl.class.getName(), "method", "getById")
+                .timer().count(), equalTo(1L));
+        double statements = meterRegistry.get("shareit.sql.statements")
+                .tags("method", "GET", "uri", "/items/{itemId}", "type", "select")
+                .counter().count();
+        assertThat(statements, greaterThan(0.0));
+        assertThat(meterRegistry.get("shareit.sql.statements.per.request")
+                .tags("method", "GET", "uri", "/items/{itemId}")
+                .summary().totalAmount(), equalTo(statements));
+    }
+
+    @Test
+    void prometheus_thenExposeApplicationMeters() throws Exception {
+        userService.findAllUsers();
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket")));
+    }
+}
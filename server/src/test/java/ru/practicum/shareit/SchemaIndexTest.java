@@ -0,0 +1,227 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dao.BookingDao;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.item.dao.CommentDao;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dao.ItemRequestDao;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+
+@DataJpaTest(properties = "spring.flyway.locations=classpath:db/migration/common,"
+        + "classpath:db/migration/{vendor},classpath:db/plan")
+@Import(SchemaIndexTest.StatementCaptureConfig.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SchemaIndexTest {
+    private static final Sort BOOKING_ORDER = Sort.by(DESC, "start", "id");
+
+    private final TestEntityManager em;
+    private final StatementCapture statements;
+    private final BookingDao bookingDao;
+    private final ItemDao itemDao;
+    private final CommentDao commentDao;
+    private final ItemRequestDao itemRequestDao;
+
+    private User owner;
+    private Item item;
+    private ItemRequest itemRequest;
+
+    @BeforeEach
+    void setUp() {
+        owner = em.persist(User.builder().name("Serj Tankian").email("serjtankian@mail.com").build());
+        itemRequest = em.persist(ItemRequest.builder()
+                .description("Нужна дрель")
+                .requester(owner)
+                .created(LocalDateTime.now())
+                .build());
+        item = em.persist(Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .owner(owner)
+                .request(itemRequest)
+                .build());
+        em.flush();
+    }
+
+    @Test
+    void findLastAndNextByItemIds_thenUseItemStatusStartIndex() {
+        assertUsesIndex("idx_bookings_item_status_start", () -> bookingDao.findLastAndNextByItemIds(
+                List.of(item.getId(), item.getId() + 1), BookingStatus.APPROVED, LocalDateTime.now()));
+    }
+
+    @Test
+    void existsByItemIdAndBookerIdAndStatusAndEndLessThan_thenUseItemStatusStartIndex() {
+        assertUsesIndex("idx_bookings_item_status_start",
+                () -> bookingDao.existsByItemIdAndBookerIdAndStatusAndEndLessThan(
+                        item.getId(), owner.getId(), BookingStatus.APPROVED, LocalDateTime.now()));
+    }
+
+    @Test
+    void existsByItemIdAndStatusAndStartLessThanAndEndGreaterThan_thenUseItemStatusStartIndex() {
+        assertUsesIndex("idx_bookings_item_status_start",
+                () -> bookingDao.existsByItemIdAndStatusAndStartLessThanAndEndGreaterThan(
+                        item.getId(), BookingStatus.APPROVED, LocalDateTime.now().plusDays(1), LocalDateTime.now()));
+    }
+
+    @Test
+    void findAllByItemIdInAndStatusAndEndGreaterThan_thenUseItemStatusStartIndex() {
+        assertUsesIndex("idx_bookings_item_status_start",
+                () -> bookingDao.findAllByItemIdInAndStatusAndEndGreaterThan(
+                        List.of(item.getId()), BookingStatus.APPROVED, LocalDateTime.now()));
+    }
+
+    @Test
+    void findDtoSliceByBooker_thenUseBookerStartIndex() {
+        assertUsesIndex("idx_bookings_booker_start", () -> bookingDao.findDtoSlice(
+                QBooking.booking.booker.id.eq(owner.getId()).and(QBooking.booking.status.eq(BookingStatus.WAITING)),
+                PageRequest.of(0, 10, BOOKING_ORDER)));
+    }
+
+    @Test
+    void findDtoSliceByOwner_thenUseItemOwnerIndex() {
+        assertUsesIndex("idx_items_owner", () -> bookingDao.findDtoSlice(
+                QBooking.booking.item.owner.id.eq(owner.getId()).and(QBooking.booking.status.eq(BookingStatus.WAITING)),
+                PageRequest.of(0, 10, BOOKING_ORDER)));
+    }
+
+    @Test
+    void findAllByOwnerIdOrderById_thenUseItemOwnerIndex() {
+        assertUsesIndex("idx_items_owner",
+                () -> itemDao.findAllByOwnerIdOrderById(owner.getId(), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void findAllByItemRequests_thenUseItemRequestIndex() {
+        assertUsesIndex("idx_items_request", () -> itemDao.findAllByItemRequests(List.of(itemRequest)));
+    }
+
+    @Test
+    void findByItemId_thenUseCommentItemIndex() {
+        assertUsesIndex("idx_comments_item_created", () -> commentDao.findByItemId(item.getId()));
+    }
+
+    @Test
+    void findByItemIn_thenUseCommentItemIndex() {
+        assertUsesIndex("idx_comments_item_created", () -> commentDao.findByItemIn(List.of(item),
+                Sort.by(DESC, "created")));
+    }
+
+    @Test
+    void findAllByRequesterIdOrderByCreatedDesc_thenUseRequesterCreatedIndex() {
+        assertUsesIndex("idx_requests_requester_created",
+                () -> itemRequestDao.findAllByRequesterIdOrderByCreatedDesc(owner.getId()));
+    }
+
+    private void assertUsesIndex(String index, Runnable daoCall) {
+        statements.clear();
+        daoCall.run();
+        String sql = statements.lastSelect();
+        String plan = explain(sql);
+
+        assertThat(sql + "\n" + plan, plan, containsStringIgnoringCase("." + index + ":"));
+        assertThat(sql + "\n" + plan, plan, not(containsStringIgnoringCase("tableScan")));
+    }
+
+    private String explain(String sql) {
+        return em.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    bind(statement, i, parameters.getParameterType(i));
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement statement, int index, int type) throws SQLException {
+        switch (type) {
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                statement.setTimestamp(index, Timestamp.valueOf(LocalDateTime.now()));
+                break;
+            case Types.VARCHAR:
+            case Types.CHAR:
+                statement.setString(index, BookingStatus.APPROVED.name());
+                break;
+            case Types.BOOLEAN:
+                statement.setBoolean(index, true);
+                break;
+            default:
+                statement.setLong(index, 1L);
+        }
+    }
+
+    static class StatementCapture implements StatementInspector {
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public synchronized String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        synchronized void clear() {
+            statements.clear();
+        }
+
+        synchronized String lastSelect() {
+            for (int i = statements.size() - 1; i >= 0; i--) {
+                if (statements.get(i).stripLeading().toLowerCase().startsWith("select")) {
+                    return statements.get(i);
+                }
+            }
+            throw new AssertionError("DAO не выполнил ни одного SELECT: " + statements);
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureCustomizer(StatementCapture statementCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCapture);
+        }
+    }
+}
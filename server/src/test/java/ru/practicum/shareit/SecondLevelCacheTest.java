@@ -0,0 +1,118 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ActiveProfiles("metrics")
+class SecondLevelCacheTest {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final EntityManagerFactory emf;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private UserDto owner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        owner = userService.createUser(UserDto.builder()
+                .name("Serj Tankian")
+                .email("serjtankian@mail.com")
+                .build());
+    }
+
+    @Test
+    void getUserById_whenUserIsCached_thenNoStatements() {
+        userService.getById(owner.getId());
+
+        statistics.clear();
+        UserDto user = userService.getById(owner.getId());
+
+        assertThat(user.getName(), equalTo(owner.getName()));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+        assertThat(statistics.getSecondLevelCacheHitCount(), equalTo(1L));
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", "users", "result", "hit")
+                .functionCounter(), notNullValue());
+    }
+
+    @Test
+    void updateUser_whenUserIsCached_thenReturnUpdatedUser() {
+        userService.getById(owner.getId());
+
+        userService.updateUser(UserDto.builder().name("Daron Malakian").build(), owner.getId());
+
+        assertThat(userService.getById(owner.getId()).getName(), equalTo("Daron Malakian"));
+    }
+
+    @Test
+    void deleteUser_whenUserIsCached_thenUserIsNotFound() {
+        userService.getById(owner.getId());
+
+        userService.deleteUser(owner.getId());
+
+        assertThrows(UserNotFoundException.class, () -> userService.getById(owner.getId()));
+    }
+
+    @Test
+    void updateItem_whenItemIsCached_thenReturnUpdatedItem() {
+        ItemDto item = createItem();
+        itemService.getById(item.getId(), owner.getId());
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> itemService.updateItem(
+                ItemDto.builder().name("Перфоратор").build(), item.getId(), owner.getId()));
+
+        assertThat(statistics.getSecondLevelCacheHitCount(), greaterThan(0L));
+        assertThat(itemService.getById(item.getId(), owner.getId()).getName(), equalTo("Перфоратор"));
+    }
+
+    @Test
+    void deleteItem_whenItemIsCached_thenItemIsNotFound() {
+        ItemDto item = createItem();
+        itemService.getById(item.getId(), owner.getId());
+
+        itemService.deleteItem(item.getId());
+
+        assertThrows(ItemNotFoundException.class, () -> itemService.getById(item.getId(), owner.getId()));
+    }
+
+    private ItemDto createItem() {
+        return itemService.createItem(ItemDto.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build(), owner.getId());
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.AddItemRequestDto;
+import ru.practicum.shareit.request.dto.GetItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+@SpringBootTest(properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class TransactionsTest {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemRequestService itemRequestService;
+    private final EntityManagerFactory emf;
+
+    private Statistics statistics;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        owner = userService.createUser(UserDto.builder()
+                .name("Serj Tankian")
+                .email("serjtankian@mail.com")
+                .build());
+        booker = userService.createUser(UserDto.builder()
+                .name("Daron Malakian")
+                .email("daronmalakian@mail.com")
+                .build());
+        GetItemRequestDto request = itemRequestService.createItemRequest(new AddItemRequestDto("Нужна дрель"),
+                booker.getId());
+        item = itemService.createItem(ItemDto.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .requestId(request.getId())
+                .build(), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBooking(new AddBookingDto(start, start.plusDays(1), item.getId()),
+                booker.getId());
+        statistics.clear();
+    }
+
+    @Test
+    void getItemById_whenOwnerRequestsItem_thenUseOneConnection() {
+        itemService.getById(item.getId(), owner.getId());
+
+        assertOneTransaction();
+    }
+
+    @Test
+    void findAllItemsByOwnerId_whenItemsExist_thenUseOneConnection() {
+        assertThat(itemService.findAllItemsByOwnerId(owner.getId(), 0, 10), hasSize(1));
+
+        assertOneTransaction();
+    }
+
+    @Test
+    void findBookingsByOwnerId_whenBookingsExist_thenUseOneConnection() {
+        assertThat(bookingService.findBookingsByOwnerId(owner.getId(), BookingState.ALL, 0, 10), hasSize(1));
+
+        assertOneTransaction();
+    }
+
+    @Test
+    void findAllItemRequests_whenRequestsExist_thenUseOneConnection() {
+        assertThat(itemRequestService.findAll(owner.getId(), 0, 10), hasSize(1));
+
+        assertOneTransaction();
+    }
+
+    @Test
+    void createBooking_whenItemIsFree_thenUseOneConnection() {
+        LocalDateTime start = LocalDateTime.now().plusDays(3);
+        bookingService.createBooking(new AddBookingDto(start, start.plusDays(1), item.getId()), booker.getId());
+
+        assertOneTransaction();
+    }
+
+    private void assertOneTransaction() {
+        assertThat(statistics.getConnectCount(), equalTo(1L));
+        assertThat(statistics.getTransactionCount(), equalTo(1L));
+    }
+}
@@ -9,11 +9,18 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingExport;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.BookingNotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -24,7 +31,10 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -154,6 +164,49 @@ class BookingControllerTest {
         Mockito.verifyNoMoreInteractions(bookingService);
     }
 
+    @Test
+    void approveBookings() throws Exception {
+        long ownerId = 5L;
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true), new BookingDecisionDto(2L, true));
+        List<BookingDecisionResultDto> results = List.of(
+                BookingDecisionResultDto.applied(1L, BookingStatus.APPROVED),
+                BookingDecisionResultDto.failed(2L, "Вещь уже забронирована на этот период."));
+
+        when(bookingService.approveAll(ownerId, decisions))
+                .thenReturn(results);
+
+        mvc.perform(patch("/bookings/bulk")
+                        .content(mapper.writeValueAsString(decisions))
+                        .header("X-Sharer-User-Id", ownerId)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].bookingId", is(1)))
+                .andExpect(jsonPath("$[0].status", is("APPROVED")))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].bookingId", is(2)))
+                .andExpect(jsonPath("$[1].error", is("Вещь уже забронирована на этот период.")));
+
+        Mockito.verify(bookingService, Mockito.times(1))
+                .approveAll(ownerId, decisions);
+        Mockito.verifyNoMoreInteractions(bookingService);
+    }
+
+    @Test
+    void approveBookings_whenDecisionIsMissing_thenBadRequest() throws Exception {
+        mvc.perform(patch("/bookings/bulk")
+                        .content("[{\"bookingId\": 1, \"approved\": null}]")
+                        .header("X-Sharer-User-Id", 5L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(bookingService);
+    }
+
     @Test
     void getBooking() throws Exception {
         long userId = 5L;
@@ -337,4 +390,102 @@ class BookingControllerTest {
         Mockito.verifyNoMoreInteractions(bookingService);
     }
 
-}
\ No newline at end of file
+    @Test
+    void findBookingsByBookerId_whenCursorIsSet_thenReturnNextCursor() throws Exception {
+        long userId = 5L;
+        long itemId = 1L;
+        long bookingId = 3L;
+        BookingState state = BookingState.ALL;
+        int size = 1;
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now().plusDays(20), 4L);
+
+        LocalDateTime bookingStartDate = LocalDateTime.now().plusDays(10);
+        LocalDateTime bookingEndDate = LocalDateTime.now().plusDays(15);
+
+        List<GetBookingDto> bookings = List.of(
+                GetBookingDto.builder()
+                        .id(bookingId)
+                        .start(bookingStartDate)
+                        .end(bookingEndDate)
+                        .booker(new GetBookingDto.Booker(userId))
+                        .item(new GetBookingDto.Item(itemId, "Название вещи"))
+                        .build()
+        );
+
+        when(bookingService.findBookingsByBookerId(userId, state, cursor, size))
+                .thenReturn(bookings);
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", String.valueOf(state))
+                        .param("size", String.valueOf(size))
+                        .param("cursor", cursor.encode())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(bookingId), Long.class))
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER,
+                        new BookingCursor(bookingStartDate, bookingId).encode()));
+
+        Mockito.verify(bookingService, Mockito.times(1))
+                .findBookingsByBookerId(userId, state, cursor, size);
+        Mockito.verifyNoMoreInteractions(bookingService);
+    }
+
+    @Test
+    void findBookingsByOwnerId_whenCursorIsWrong_thenBadRequest() throws Exception {
+        long ownerId = 4L;
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .param("state", String.valueOf(BookingState.ALL))
+                        .param("cursor", "not-a-cursor")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void exportBookingsByBookerId_thenWriteOneJsonPerLine() throws Exception {
+        long userId = 5L;
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        List<GetBookingDto> bookings = List.of(
+                new GetBookingDto(2L, start.plusDays(5), start.plusDays(6), userId, 1L, "Дрель", BookingStatus.WAITING),
+                new GetBookingDto(1L, start, start.plusDays(1), userId, 1L, "Дрель", BookingStatus.APPROVED));
+        BookingExport export = bookings::forEach;
+
+        when(bookingService.exportBookingsByBookerId(userId, BookingState.ALL))
+                .thenReturn(export);
+
+        MvcResult result = mvc.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", String.valueOf(BookingState.ALL)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().bytes((mapper.writeValueAsString(bookings.get(0)) + "\n"
+                        + mapper.writeValueAsString(bookings.get(1)) + "\n").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void exportBookingsByOwnerId_whenUserNotFound_thenNotFound() throws Exception {
+        long ownerId = 100L;
+
+        when(bookingService.exportBookingsByOwnerId(ownerId, BookingState.ALL))
+                .thenThrow(new UserNotFoundException("Пользователь с идентификатором = 100 не найден."));
+
+        mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .param("state", String.valueOf(BookingState.ALL)))
+                .andExpect(status().isNotFound());
+    }
+
+}
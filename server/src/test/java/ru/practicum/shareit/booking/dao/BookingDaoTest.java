@@ -1,16 +1,24 @@
 package ru.practicum.shareit.booking.dao;
 
+import com.querydsl.core.types.dsl.BooleanExpression;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.QBooking;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
@@ -26,14 +34,14 @@ import ru.practicum.shareit.user.model.User;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.stream.Collectors;
 
-import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
-import static org.junit.jupiter.api.Assertions.assertEquals;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class BookingDaoTest {
@@ -261,145 +269,40 @@ class BookingDaoTest {
     }
 
     @Test
-    void findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDesc() {
+    void findLastAndNextByItemIds() {
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
         LocalDateTime date = LocalDateTime.now();
-        Booking booking = bookingDao.findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDesc(ITEM_ID1, BookingStatus.APPROVED, date);
-        assertEquals(booking4, booking);
-    }
-
-    @Test
-    void findLastByItems() {
-        List<Item> items = List.of(item1, item2);
-        LocalDateTime date = LocalDateTime.now();
-        List<Booking> bookings = bookingDao.findLastByItems(items, BookingStatus.APPROVED, date);
-
-        assertThat(bookings, notNullValue());
-        assertThat(bookings, hasSize(3));
-        assertThat(bookings.get(0).getId(), equalTo(booking4.getId()));
-        assertThat(bookings.get(0).getStart(), equalTo(booking4.getStart()));
-        assertThat(bookings.get(0).getEnd(), equalTo(booking4.getEnd()));
-        assertThat(bookings.get(0).getStatus(), equalTo(booking4.getStatus()));
-        assertThat(bookings.get(0).getItem(), notNullValue());
-        assertThat(bookings.get(0).getItem().getId(), equalTo(booking4.getItem().getId()));
-        assertThat(bookings.get(0).getItem().getName(), equalTo(booking4.getItem().getName()));
-        assertThat(bookings.get(0).getItem().getDescription(), equalTo(booking4.getItem().getDescription()));
-        assertThat(bookings.get(0).getItem().getAvailable(), equalTo(booking4.getItem().getAvailable()));
-        assertThat(bookings.get(0).getItem().getOwner(), notNullValue());
-        assertThat(bookings.get(0).getItem().getOwner().getId(), equalTo(booking4.getItem().getOwner().getId()));
-        assertThat(bookings.get(0).getItem().getOwner().getName(), equalTo(booking4.getItem().getOwner().getName()));
-        assertThat(bookings.get(0).getItem().getOwner().getEmail(), equalTo(booking4.getItem().getOwner().getEmail()));
-        assertThat(bookings.get(0).getBooker(), notNullValue());
-        assertThat(bookings.get(0).getBooker().getId(), equalTo(booking4.getBooker().getId()));
-        assertThat(bookings.get(0).getBooker().getName(), equalTo(booking4.getBooker().getName()));
-        assertThat(bookings.get(0).getBooker().getEmail(), equalTo(booking4.getBooker().getEmail()));
-
-        assertThat(bookings.get(1).getId(), equalTo(booking2.getId()));
-        assertThat(bookings.get(1).getStart(), equalTo(booking2.getStart()));
-        assertThat(bookings.get(1).getEnd(), equalTo(booking2.getEnd()));
-        assertThat(bookings.get(1).getStatus(), equalTo(booking2.getStatus()));
-        assertThat(bookings.get(1).getItem(), notNullValue());
-        assertThat(bookings.get(1).getItem().getId(), equalTo(booking2.getItem().getId()));
-        assertThat(bookings.get(1).getItem().getName(), equalTo(booking2.getItem().getName()));
-        assertThat(bookings.get(1).getItem().getDescription(), equalTo(booking2.getItem().getDescription()));
-        assertThat(bookings.get(1).getItem().getAvailable(), equalTo(booking2.getItem().getAvailable()));
-        assertThat(bookings.get(1).getItem().getOwner(), notNullValue());
-        assertThat(bookings.get(1).getItem().getOwner().getId(), equalTo(booking2.getItem().getOwner().getId()));
-        assertThat(bookings.get(1).getItem().getOwner().getName(), equalTo(booking2.getItem().getOwner().getName()));
-        assertThat(bookings.get(1).getItem().getOwner().getEmail(), equalTo(booking2.getItem().getOwner().getEmail()));
-        assertThat(bookings.get(1).getBooker(), notNullValue());
-        assertThat(bookings.get(1).getBooker().getId(), equalTo(booking2.getBooker().getId()));
-        assertThat(bookings.get(1).getBooker().getName(), equalTo(booking2.getBooker().getName()));
-        assertThat(bookings.get(1).getBooker().getEmail(), equalTo(booking2.getBooker().getEmail()));
-
-        assertThat(bookings.get(2).getId(), equalTo(booking1.getId()));
-        assertThat(bookings.get(2).getStart(), equalTo(booking1.getStart()));
-        assertThat(bookings.get(2).getEnd(), equalTo(booking1.getEnd()));
-        assertThat(bookings.get(2).getStatus(), equalTo(booking1.getStatus()));
-        assertThat(bookings.get(2).getItem(), notNullValue());
-        assertThat(bookings.get(2).getItem().getId(), equalTo(booking1.getItem().getId()));
-        assertThat(bookings.get(2).getItem().getName(), equalTo(booking1.getItem().getName()));
-        assertThat(bookings.get(2).getItem().getDescription(), equalTo(booking1.getItem().getDescription()));
-        assertThat(bookings.get(2).getItem().getAvailable(), equalTo(booking1.getItem().getAvailable()));
-        assertThat(bookings.get(2).getItem().getOwner(), notNullValue());
-        assertThat(bookings.get(2).getItem().getOwner().getId(), equalTo(booking1.getItem().getOwner().getId()));
-        assertThat(bookings.get(2).getItem().getOwner().getName(), equalTo(booking1.getItem().getOwner().getName()));
-        assertThat(bookings.get(2).getItem().getOwner().getEmail(), equalTo(booking1.getItem().getOwner().getEmail()));
-        assertThat(bookings.get(2).getBooker(), notNullValue());
-        assertThat(bookings.get(2).getBooker().getId(), equalTo(booking1.getBooker().getId()));
-        assertThat(bookings.get(2).getBooker().getName(), equalTo(booking1.getBooker().getName()));
-        assertThat(bookings.get(2).getBooker().getEmail(), equalTo(booking1.getBooker().getEmail()));
+        em.flush();
 
+        statistics.clear();
+        List<Booking> bookings = bookingDao.findLastAndNextByItemIds(List.of(ITEM_ID1, ITEM_ID2, ITEM_ID3),
+                BookingStatus.APPROVED, date);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(bookings.stream().map(Booking::getId).sorted().collect(Collectors.toList()),
+                contains(booking2.getId(), booking4.getId(), booking5.getId()));
+        Booking last = bookings.stream()
+                .filter(booking -> booking.getId().equals(booking4.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(last.getStart(), equalTo(booking4.getStart()));
+        assertThat(last.getEnd(), equalTo(booking4.getEnd()));
+        assertThat(last.getStatus(), equalTo(booking4.getStatus()));
+        assertThat(last.getItem().getId(), equalTo(booking4.getItem().getId()));
+        assertThat(last.getBooker().getId(), equalTo(booking4.getBooker().getId()));
     }
 
     @Test
-    void findNextByItems() {
-        List<Item> items = List.of(item1, item2);
+    void findLastAndNextByItemIds_whenDateIsInPast_thenReturnBookingsAroundDate() {
         LocalDateTime date = LocalDateTime.now().minusDays(2);
-        List<Booking> bookings = bookingDao.findNextByItems(List.of(item1, item2), BookingStatus.APPROVED, date);
-
-        assertThat(bookings, notNullValue());
-        assertThat(bookings, hasSize(2));
-        assertThat(bookings.get(0).getId(), equalTo(booking4.getId()));
-        assertThat(bookings.get(0).getStart(), equalTo(booking4.getStart()));
-        assertThat(bookings.get(0).getEnd(), equalTo(booking4.getEnd()));
-        assertThat(bookings.get(0).getStatus(), equalTo(booking4.getStatus()));
-        assertThat(bookings.get(0).getItem(), notNullValue());
-        assertThat(bookings.get(0).getItem().getId(), equalTo(booking4.getItem().getId()));
-        assertThat(bookings.get(0).getItem().getName(), equalTo(booking4.getItem().getName()));
-        assertThat(bookings.get(0).getItem().getDescription(), equalTo(booking4.getItem().getDescription()));
-        assertThat(bookings.get(0).getItem().getAvailable(), equalTo(booking4.getItem().getAvailable()));
-        assertThat(bookings.get(0).getItem().getOwner(), notNullValue());
-        assertThat(bookings.get(0).getItem().getOwner().getId(), equalTo(booking4.getItem().getOwner().getId()));
-        assertThat(bookings.get(0).getItem().getOwner().getName(), equalTo(booking4.getItem().getOwner().getName()));
-        assertThat(bookings.get(0).getItem().getOwner().getEmail(), equalTo(booking4.getItem().getOwner().getEmail()));
-        assertThat(bookings.get(0).getBooker(), notNullValue());
-        assertThat(bookings.get(0).getBooker().getId(), equalTo(booking4.getBooker().getId()));
-        assertThat(bookings.get(0).getBooker().getName(), equalTo(booking4.getBooker().getName()));
-        assertThat(bookings.get(0).getBooker().getEmail(), equalTo(booking4.getBooker().getEmail()));
-
-        assertThat(bookings.get(1).getId(), equalTo(booking5.getId()));
-        assertThat(bookings.get(1).getStart(), equalTo(booking5.getStart()));
-        assertThat(bookings.get(1).getEnd(), equalTo(booking5.getEnd()));
-        assertThat(bookings.get(1).getStatus(), equalTo(booking5.getStatus()));
-        assertThat(bookings.get(1).getItem(), notNullValue());
-        assertThat(bookings.get(1).getItem().getId(), equalTo(booking5.getItem().getId()));
-        assertThat(bookings.get(1).getItem().getName(), equalTo(booking5.getItem().getName()));
-        assertThat(bookings.get(1).getItem().getDescription(), equalTo(booking5.getItem().getDescription()));
-        assertThat(bookings.get(1).getItem().getAvailable(), equalTo(booking5.getItem().getAvailable()));
-        assertThat(bookings.get(1).getItem().getOwner(), notNullValue());
-        assertThat(bookings.get(1).getItem().getOwner().getId(), equalTo(booking5.getItem().getOwner().getId()));
-        assertThat(bookings.get(1).getItem().getOwner().getName(), equalTo(booking5.getItem().getOwner().getName()));
-        assertThat(bookings.get(1).getItem().getOwner().getEmail(), equalTo(booking5.getItem().getOwner().getEmail()));
-        assertThat(bookings.get(1).getBooker(), notNullValue());
-        assertThat(bookings.get(1).getBooker().getId(), equalTo(booking5.getBooker().getId()));
-        assertThat(bookings.get(1).getBooker().getName(), equalTo(booking5.getBooker().getName()));
-        assertThat(bookings.get(1).getBooker().getEmail(), equalTo(booking5.getBooker().getEmail()));
-    }
 
+        List<Booking> bookings = bookingDao.findLastAndNextByItemIds(List.of(ITEM_ID1, ITEM_ID2),
+                BookingStatus.APPROVED, date);
 
-    @Test
-    void findFirstByItemIdAndStatusAndStartGreaterThanOrderByStart() {
-        LocalDateTime date = LocalDateTime.now().plusDays(1);
-        Booking booking = bookingDao.findFirstByItemIdAndStatusAndStartGreaterThanOrderByStart(ITEM_ID2, BookingStatus.WAITING, date);
-
-        assertThat(booking, notNullValue());
-        assertThat(booking.getId(), equalTo(booking6.getId()));
-        assertThat(booking.getStart(), equalTo(booking6.getStart()));
-        assertThat(booking.getEnd(), equalTo(booking6.getEnd()));
-        assertThat(booking.getStatus(), equalTo(booking6.getStatus()));
-        assertThat(booking.getItem(), notNullValue());
-        assertThat(booking.getItem().getId(), equalTo(booking6.getItem().getId()));
-        assertThat(booking.getItem().getName(), equalTo(booking6.getItem().getName()));
-        assertThat(booking.getItem().getDescription(), equalTo(booking6.getItem().getDescription()));
-        assertThat(booking.getItem().getAvailable(), equalTo(booking6.getItem().getAvailable()));
-        assertThat(booking.getItem().getOwner(), notNullValue());
-        assertThat(booking.getItem().getOwner().getId(), equalTo(booking6.getItem().getOwner().getId()));
-        assertThat(booking.getItem().getOwner().getName(), equalTo(booking6.getItem().getOwner().getName()));
-        assertThat(booking.getItem().getOwner().getEmail(), equalTo(booking6.getItem().getOwner().getEmail()));
-        assertThat(booking.getBooker(), notNullValue());
-        assertThat(booking.getBooker().getId(), equalTo(booking6.getBooker().getId()));
-        assertThat(booking.getBooker().getName(), equalTo(booking6.getBooker().getName()));
-        assertThat(booking.getBooker().getEmail(), equalTo(booking6.getBooker().getEmail()));
+        assertThat(bookings.stream().map(Booking::getId).sorted().collect(Collectors.toList()),
+                contains(booking1.getId(), booking2.getId(), booking4.getId()));
     }
 
     @Test
@@ -418,4 +321,30 @@ class BookingDaoTest {
         assertThat(bookingDao.existsByItemIdAndBookerIdAndStatusAndEndLessThan(ITEM_ID2, booker2.getId(),
                 BookingStatus.WAITING, date.plusDays(11)), equalTo(true));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findDtoSlice() {
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        BooleanExpression byBooker = QBooking.booking.booker.id.eq(booker1.getId());
+        Sort sort = Sort.by(Sort.Direction.DESC, "start", "id");
+
+        statistics.clear();
+        Slice<GetBookingDto> firstSlice = bookingDao.findDtoSlice(byBooker, PageRequest.of(0, 2, sort));
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(firstSlice.hasNext(), equalTo(true));
+        assertThat(firstSlice.getContent(), hasSize(2));
+        assertThat(firstSlice.getContent().get(0).getId(), equalTo(booking3.getId()));
+        assertThat(firstSlice.getContent().get(1).getId(), equalTo(booking2.getId()));
+
+        statistics.clear();
+        Slice<GetBookingDto> lastSlice = bookingDao.findDtoSlice(byBooker, PageRequest.of(1, 2, sort));
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(lastSlice.hasNext(), equalTo(false));
+        assertThat(lastSlice.getContent(), hasSize(1));
+        assertThat(lastSlice.getContent().get(0).getId(), equalTo(booking1.getId()));
+    }
+}
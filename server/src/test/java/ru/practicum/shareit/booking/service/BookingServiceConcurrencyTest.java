@@ -0,0 +1,193 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Slf4j
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class BookingServiceConcurrencyTest {
+    private static final int THREADS = 200;
+    private static final int ITEMS = 50;
+
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+    private final LocalDateTime end = start.plusDays(2);
+
+    private long ownerId;
+    private long itemId;
+    private final List<Long> bookerIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser("owner").getId();
+        itemId = createItem("Дрель");
+        for (int i = 0; i < THREADS; i++) {
+            bookerIds.add(createUser("booker" + i).getId());
+        }
+    }
+
+    @Test
+    void approve_whenConcurrentOverlappingBookings_thenOnlyOneIsApproved() throws Exception {
+        List<Callable<GetBookingDto>> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            AddBookingDto addBookingDto = new AddBookingDto(start.plusHours(i % 24), end.plusHours(i % 24), itemId);
+            long bookerId = bookerIds.get(i);
+            bookings.add(() -> bookingService.createBooking(addBookingDto, bookerId));
+        }
+        List<Future<GetBookingDto>> created = runConcurrently(bookings);
+
+        List<Callable<GetBookingDto>> approvals = new ArrayList<>();
+        for (Future<GetBookingDto> booking : created) {
+            long bookingId = booking.get().getId();
+            approvals.add(() -> bookingService.approve(bookingId, ownerId, true));
+        }
+        List<Future<GetBookingDto>> approved = runConcurrently(approvals);
+
+        List<GetBookingDto> succeeded = new ArrayList<>();
+        List<Throwable> failed = new ArrayList<>();
+        for (Future<GetBookingDto> approval : approved) {
+            try {
+                succeeded.add(approval.get());
+            } catch (ExecutionException e) {
+                failed.add(e.getCause());
+            }
+        }
+
+        assertThat(succeeded, hasSize(1));
+        assertThat(succeeded.get(0).getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(failed, hasSize(THREADS - 1));
+        assertThat(failed, everyItem(instanceOf(BookingConflictException.class)));
+        assertThrows(BookingConflictException.class, () -> bookingService.createBooking(
+                new AddBookingDto(start, end, itemId), bookerIds.get(0)));
+    }
+
+    @Test
+    void approve_whenConcurrentBookingsOfDifferentItems_thenAllAreApproved() throws Exception {
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds.add(createItem("Вещь " + i));
+        }
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDateTime bookingStart = start.plusDays(3L * (i / ITEMS));
+            AddBookingDto addBookingDto = new AddBookingDto(bookingStart, bookingStart.plusDays(1),
+                    itemIds.get(i % ITEMS));
+            bookingIds.add(bookingService.createBooking(addBookingDto, bookerIds.get(i)).getId());
+        }
+
+        List<Callable<GetBookingDto>> approvals = new ArrayList<>();
+        for (long bookingId : bookingIds) {
+            approvals.add(() -> bookingService.approve(bookingId, ownerId, true));
+        }
+        long startedAt = System.nanoTime();
+        List<Future<GetBookingDto>> approved = runConcurrently(approvals);
+        long elapsed = System.nanoTime() - startedAt;
+
+        log.info("Подтверждено {} бронирований {} вещей: {} подтверждений/с", THREADS, ITEMS,
+                THREADS * TimeUnit.SECONDS.toNanos(1) / elapsed);
+        for (Future<GetBookingDto> approval : approved) {
+            assertThat(approval.get().getStatus(), equalTo(BookingStatus.APPROVED));
+        }
+    }
+
+    @Test
+    void approveAll_whenSameBookingsAreApprovedOneByOne_thenEachIsAppliedOnce() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            AddBookingDto addBookingDto = new AddBookingDto(start, end, createItem("Вещь " + i));
+            bookingIds.add(bookingService.createBooking(addBookingDto, bookerIds.get(i)).getId());
+        }
+
+        List<Callable<Boolean>> approvals = new ArrayList<>();
+        for (long bookingId : bookingIds) {
+            approvals.add(() -> bookingService.approve(bookingId, ownerId, true).getStatus() == BookingStatus.APPROVED);
+            approvals.add(() -> bookingService.approveAll(ownerId, List.of(new BookingDecisionDto(bookingId, true)))
+                    .get(0).getStatus() == BookingStatus.APPROVED);
+        }
+        List<Future<Boolean>> results = runConcurrently(approvals);
+
+        int applied = 0;
+        List<Throwable> failed = new ArrayList<>();
+        for (Future<Boolean> result : results) {
+            try {
+                applied += result.get() ? 1 : 0;
+            } catch (ExecutionException e) {
+                failed.add(e.getCause());
+            }
+        }
+
+        assertThat(applied, equalTo(ITEMS));
+        assertThat(failed, everyItem(instanceOf(ValidationException.class)));
+    }
+
+    private long createItem(String name) {
+        return itemService.createItem(ItemDto.builder()
+                .name(name)
+                .description("Описание " + name)
+                .available(true)
+                .build(), ownerId).getId();
+    }
+
+    private UserDto createUser(String name) {
+        return userService.createUser(UserDto.builder()
+                .name(name)
+                .email(name + "@yandex.ru")
+                .build());
+    }
+
+    private <T> List<Future<T>> runConcurrently(List<Callable<T>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(() -> {
+                ready.await();
+                return task.call();
+            }));
+        }
+        ready.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES), equalTo(true));
+        return futures;
+    }
+}
@@ -5,12 +5,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.dao.BookingDao;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.BookingNotFoundException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
@@ -19,6 +23,7 @@ import ru.practicum.shareit.item.dao.ItemDao;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserIdCache;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -28,6 +33,8 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RequiredArgsConstructor
@@ -49,10 +56,17 @@ class BookingServiceImplJunitTest {
     UserDao userDao;
     @Mock
     ItemDao itemDao;
+    @Mock
+    BookingTimeline bookingTimeline;
+    @Mock
+    UserIdCache userIdCache;
+    @Mock
+    PlatformTransactionManager transactionManager;
 
     @Test
     void createBooking_whenUserNotFound_thenThrowUserNotFoundException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         when(userDao.findById(USER_ID)).thenReturn(Optional.empty());
 
@@ -66,7 +80,8 @@ class BookingServiceImplJunitTest {
 
     @Test
     void createBooking_whenItemNotFound_thenThrowItemNotFoundException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         when(userDao.findById(USER_ID)).thenReturn(Optional.of(User.builder().build()));
         when(itemDao.findById(ITEM_ID)).thenReturn(Optional.empty());
@@ -81,7 +96,8 @@ class BookingServiceImplJunitTest {
 
     @Test
     void createBooking_whenItemIsNotAvailable_thenThrowValidationException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         when(userDao.findById(USER_ID)).thenReturn(Optional.of(User.builder().build()));
         when(itemDao.findById(ITEM_ID)).thenReturn(Optional.of(Item.builder().available(false).build()));
@@ -96,7 +112,8 @@ class BookingServiceImplJunitTest {
 
     @Test
     void createBooking_whenBookerIsOwner_thenThrowValidationException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         when(userDao.findById(USER_ID)).thenReturn(Optional.of(User.builder().id(USER_ID).build()));
 
@@ -112,14 +129,36 @@ class BookingServiceImplJunitTest {
         assertEquals("Владелец не может бронировать собственные вещи", exception.getMessage());
     }
 
+    @Test
+    void createBooking_whenPeriodIsApproved_thenThrowBookingConflictException() {
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
+
+        when(userDao.findById(USER_ID)).thenReturn(Optional.of(User.builder().id(USER_ID).build()));
+
+        User owner = User.builder().id(USER_ID2).build();
+        Item item = Item.builder().id(ITEM_ID).available(true).owner(owner).build();
+        when(itemDao.findById(ITEM_ID)).thenReturn(Optional.of(item));
+        when(bookingDao.existsByItemIdAndStatusAndStartLessThanAndEndGreaterThan(
+                ITEM_ID, BookingStatus.APPROVED, bookingEndDate, bookingStartDate)).thenReturn(true);
+
+        final BookingConflictException exception = assertThrows(
+                BookingConflictException.class,
+                () -> bookingService.createBooking(addBookingDto, USER_ID)
+        );
+
+        assertEquals("Вещь уже забронирована на этот период.", exception.getMessage());
+    }
+
     @Test
     void getById_whenUserNotFound_thenThrowUserNotFoundException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         Booking booking = Booking.builder().build();
         when(bookingDao.findById(BOOKING_ID)).thenReturn(Optional.of(booking));
 
-        when(userDao.findById(USER_ID)).thenReturn(Optional.empty());
+        when(userIdCache.exists(USER_ID)).thenReturn(false);
 
         final UserNotFoundException exception = assertThrows(
                 UserNotFoundException.class,
@@ -131,7 +170,8 @@ class BookingServiceImplJunitTest {
 
     @Test
     void getById_whenBookingNotFound_thenThrowBookingNotFoundException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         when(bookingDao.findById(BOOKING_ID)).thenReturn(Optional.empty());
 
@@ -145,7 +185,8 @@ class BookingServiceImplJunitTest {
 
     @Test
     void getById_whenUserIsNotBookerOrOwner_thenThrowUserNotFoundException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         User booker = User.builder().id(USER_ID).build();
         User owner = User.builder().id(USER_ID2).build();
@@ -154,8 +195,7 @@ class BookingServiceImplJunitTest {
         when(bookingDao.findById(BOOKING_ID)).thenReturn(Optional.of(booking));
 
         long wrongUserId = USER_ID + USER_ID2;
-        User wrongUser = User.builder().id(wrongUserId).build();
-        when(userDao.findById(wrongUserId)).thenReturn(Optional.of(wrongUser));
+        when(userIdCache.exists(wrongUserId)).thenReturn(true);
 
         final UserNotFoundException exception = assertThrows(
                 UserNotFoundException.class,
@@ -168,7 +208,8 @@ class BookingServiceImplJunitTest {
 
     @Test
     void approve_whenStatusIsApproved_thenThrowValidationException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         Booking booking = Booking.builder().status(BookingStatus.APPROVED).build();
         when(bookingDao.findById(BOOKING_ID)).thenReturn(Optional.of(booking));
@@ -186,14 +227,14 @@ class BookingServiceImplJunitTest {
 
     @Test
     void approved_whenBookerIdEqualsOwnerId_thenThrowValidationException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         User booker = User.builder().id(USER_ID).build();
         Booking booking = Booking.builder().booker(booker).status(BookingStatus.WAITING).build();
         when(bookingDao.findById(BOOKING_ID)).thenReturn(Optional.of(booking));
 
-        User owner = User.builder().id(USER_ID).build();
-        when(userDao.findById(USER_ID)).thenReturn(Optional.of(owner));
+        when(userIdCache.exists(USER_ID)).thenReturn(true);
 
         final UserNotFoundException exception = assertThrows(
                 UserNotFoundException.class,
@@ -206,7 +247,8 @@ class BookingServiceImplJunitTest {
 
     @Test
     void approved_whenUserIdIsNotOwnerId_thenThrowValidationException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         User booker = User.builder().id(USER_ID3).build();
         User ownerOfItem = User.builder().id(USER_ID2).build();
@@ -214,8 +256,7 @@ class BookingServiceImplJunitTest {
         Booking booking = Booking.builder().booker(booker).item(item).status(BookingStatus.WAITING).build();
         when(bookingDao.findById(BOOKING_ID)).thenReturn(Optional.of(booking));
 
-        User owner = User.builder().id(USER_ID).build();
-        when(userDao.findById(USER_ID)).thenReturn(Optional.of(owner));
+        when(userIdCache.exists(USER_ID)).thenReturn(true);
 
         final ValidationException exception = assertThrows(
                 ValidationException.class,
@@ -228,27 +269,101 @@ class BookingServiceImplJunitTest {
 
     @Test
     void approved_whenRejected() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         User booker = User.builder().id(USER_ID3).build();
         User ownerOfItem = User.builder().id(USER_ID).build();
-        Item item = Item.builder().owner(ownerOfItem).build();
+        Item item = Item.builder().id(ITEM_ID).owner(ownerOfItem).build();
         Booking booking = Booking.builder().booker(booker).item(item).status(BookingStatus.WAITING).build();
         when(bookingDao.findById(BOOKING_ID)).thenReturn(Optional.of(booking));
 
-        User owner = User.builder().id(USER_ID).build();
-        when(userDao.findById(USER_ID)).thenReturn(Optional.of(owner));
+        when(userIdCache.exists(USER_ID)).thenReturn(true);
 
-        when(bookingDao.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookingDao.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         GetBookingDto bookingDto = bookingService.approve(BOOKING_ID, USER_ID, false);
 
         assertThat(bookingDto.getStatus(), equalTo(BookingStatus.REJECTED));
     }
 
+    @Test
+    void approve_whenPeriodIsApproved_thenThrowBookingConflictException() {
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
+
+        User booker = User.builder().id(USER_ID3).build();
+        User owner = User.builder().id(USER_ID).build();
+        Item item = Item.builder().id(ITEM_ID).owner(owner).build();
+        Booking booking = Booking.builder().booker(booker).item(item).start(bookingStartDate).end(bookingEndDate)
+                .status(BookingStatus.WAITING).build();
+        when(bookingDao.findById(BOOKING_ID)).thenReturn(Optional.of(booking));
+        when(userIdCache.exists(USER_ID)).thenReturn(true);
+        when(bookingDao.existsByItemIdAndStatusAndStartLessThanAndEndGreaterThan(
+                ITEM_ID, BookingStatus.APPROVED, bookingEndDate, bookingStartDate)).thenReturn(true);
+
+        final BookingConflictException exception = assertThrows(
+                BookingConflictException.class,
+                () -> bookingService.approve(BOOKING_ID, USER_ID, true)
+        );
+
+        assertEquals("Вещь уже забронирована на этот период.", exception.getMessage());
+        assertThat(booking.getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    void approve_whenVersionConflict_thenRetryWithFreshBooking() {
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
+
+        User booker = User.builder().id(USER_ID3).build();
+        User owner = User.builder().id(USER_ID).build();
+        Item item = Item.builder().id(ITEM_ID).owner(owner).build();
+        Booking staleBooking = Booking.builder().booker(booker).item(item).start(bookingStartDate).end(bookingEndDate)
+                .status(BookingStatus.WAITING).version(0L).build();
+        Booking freshBooking = Booking.builder().booker(booker).item(item).start(bookingStartDate).end(bookingEndDate)
+                .status(BookingStatus.WAITING).version(1L).build();
+        when(bookingDao.findById(BOOKING_ID))
+                .thenReturn(Optional.of(staleBooking), Optional.of(staleBooking), Optional.of(freshBooking));
+        when(userIdCache.exists(USER_ID)).thenReturn(true);
+        when(bookingDao.saveAndFlush(staleBooking))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, BOOKING_ID));
+        when(bookingDao.saveAndFlush(freshBooking)).thenReturn(freshBooking);
+
+        GetBookingDto bookingDto = bookingService.approve(BOOKING_ID, USER_ID, true);
+
+        assertThat(bookingDto.getStatus(), equalTo(BookingStatus.APPROVED));
+        verify(bookingDao, times(3)).findById(BOOKING_ID);
+    }
+
+    @Test
+    void approve_whenVersionConflictPersists_thenThrowBookingConflictException() {
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
+
+        User booker = User.builder().id(USER_ID3).build();
+        User owner = User.builder().id(USER_ID).build();
+        Item item = Item.builder().id(ITEM_ID).owner(owner).build();
+        when(bookingDao.findById(BOOKING_ID)).thenAnswer(invocation -> Optional.of(Booking.builder()
+                .booker(booker).item(item).start(bookingStartDate).end(bookingEndDate)
+                .status(BookingStatus.WAITING).build()));
+        when(userIdCache.exists(USER_ID)).thenReturn(true);
+        when(bookingDao.saveAndFlush(any(Booking.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, BOOKING_ID));
+
+        final BookingConflictException exception = assertThrows(
+                BookingConflictException.class,
+                () -> bookingService.approve(BOOKING_ID, USER_ID, true)
+        );
+
+        assertEquals("Бронирование изменено другим запросом, повторите попытку.", exception.getMessage());
+        verify(bookingDao, times(3)).saveAndFlush(any(Booking.class));
+    }
+
     @Test
     void approve_whenBookingNotFound_thenThrowBookingNotFoundException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         when(bookingDao.findById(BOOKING_ID)).thenReturn(Optional.empty());
 
@@ -263,12 +378,13 @@ class BookingServiceImplJunitTest {
 
     @Test
     void approved_whenUserNotFound_thenThrowUserNotFoundException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
         Booking booking = Booking.builder().status(BookingStatus.WAITING).build();
         when(bookingDao.findById(BOOKING_ID)).thenReturn(Optional.of(booking));
 
-        when(userDao.findById(USER_ID)).thenReturn(Optional.empty());
+        when(userIdCache.exists(USER_ID)).thenReturn(false);
 
         boolean approve = true;
         final UserNotFoundException exception = assertThrows(
@@ -281,9 +397,10 @@ class BookingServiceImplJunitTest {
 
     @Test
     void findAllByOwnerId_whenUserNotFound_thenThrowUserNotFoundException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
-        when(userDao.findById(USER_ID)).thenReturn(Optional.empty());
+        when(userIdCache.exists(USER_ID)).thenReturn(false);
 
         int from = 0;
         int size = 10;
@@ -297,9 +414,10 @@ class BookingServiceImplJunitTest {
 
     @Test
     void findAllByBookerId_whenUserNotFound_thenThrowUserNotFoundException() {
-        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao);
+        BookingService bookingService = new BookingServiceImpl(bookingDao, userDao, itemDao, bookingTimeline, userIdCache,
+                new TransactionTemplate(transactionManager));
 
-        when(userDao.findById(USER_ID)).thenReturn(Optional.empty());
+        when(userIdCache.exists(USER_ID)).thenReturn(false);
 
         int from = 0;
         int size = 10;
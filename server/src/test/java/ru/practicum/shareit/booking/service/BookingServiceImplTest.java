@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,11 +10,16 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
@@ -29,16 +36,23 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest(
-        properties = "db.name=test",
+        properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"},
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -94,6 +108,8 @@ class BookingServiceImplTest {
     private ItemRequest itemRequest2;
     private ItemRequest itemRequest3;
 
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
     @BeforeEach
     void setUp() {
         UserDto ownerDto = UserDto.builder()
@@ -195,69 +211,69 @@ class BookingServiceImplTest {
         item3.setId(ITEM_ID3);
         em.flush();
 
-        LocalDateTime bookingStartDate1 = LocalDateTime.now().minusDays(10);
-        LocalDateTime bookingEndDate1 = LocalDateTime.now().minusDays(5);
+        LocalDateTime bookingStartDate1 = now.minusDays(10);
+        LocalDateTime bookingEndDate1 = now.minusDays(5);
         AddBookingDto addBookingDto = new AddBookingDto(bookingStartDate1, bookingEndDate1, ITEM_ID1);
         booking1 = BookingMapper.addBookingDtoToBooking(addBookingDto, booker1, item1, BookingStatus.APPROVED);
         em.persist(booking1);
         booking1.setId(BOOKING_ID1);
         em.flush();
 
-        LocalDateTime bookingStartDate2 = LocalDateTime.now().minusDays(2);
-        LocalDateTime bookingEndDate2 = LocalDateTime.now().plusDays(5);
+        LocalDateTime bookingStartDate2 = now.minusDays(2);
+        LocalDateTime bookingEndDate2 = now.plusDays(5);
         AddBookingDto addBookingDto2 = new AddBookingDto(bookingStartDate2, bookingEndDate2, ITEM_ID2);
         booking2 = BookingMapper.addBookingDtoToBooking(addBookingDto2, booker1, item2, BookingStatus.APPROVED);
         em.persist(booking2);
         booking2.setId(BOOKING_ID2);
         em.flush();
 
-        LocalDateTime bookingStartDate3 = LocalDateTime.now().plusDays(7);
-        LocalDateTime bookingEndDate3 = LocalDateTime.now().plusDays(10);
+        LocalDateTime bookingStartDate3 = now.plusDays(7);
+        LocalDateTime bookingEndDate3 = now.plusDays(10);
         AddBookingDto addBookingDto3 = new AddBookingDto(bookingStartDate3, bookingEndDate3, ITEM_ID3);
         booking3 = BookingMapper.addBookingDtoToBooking(addBookingDto3, booker1, item3, BookingStatus.REJECTED);
         em.persist(booking3);
         booking3.setId(BOOKING_ID3);
         em.flush();
 
-        LocalDateTime bookingStartDate4 = LocalDateTime.now().minusDays(1);
-        LocalDateTime bookingEndDate4 = LocalDateTime.now().plusDays(7);
+        LocalDateTime bookingStartDate4 = now.minusDays(1);
+        LocalDateTime bookingEndDate4 = now.plusDays(7);
         AddBookingDto addBookingDto4 = new AddBookingDto(bookingStartDate4, bookingEndDate4, ITEM_ID1);
         booking4 = BookingMapper.addBookingDtoToBooking(addBookingDto4, booker2, item1, BookingStatus.CANCELED);
         em.persist(booking4);
         booking4.setId(BOOKING_ID4);
         em.flush();
 
-        LocalDateTime bookingStartDate5 = LocalDateTime.now().plusDays(10);
-        LocalDateTime bookingEndDate5 = LocalDateTime.now().plusDays(15);
+        LocalDateTime bookingStartDate5 = now.plusDays(10);
+        LocalDateTime bookingEndDate5 = now.plusDays(15);
         AddBookingDto addBookingDto5 = new AddBookingDto(bookingStartDate5, bookingEndDate5, ITEM_ID1);
         booking5 = BookingMapper.addBookingDtoToBooking(addBookingDto5, booker2, item1, BookingStatus.APPROVED);
         em.persist(booking5);
         booking5.setId(BOOKING_ID5);
         em.flush();
 
-        LocalDateTime bookingStartDate6 = LocalDateTime.now().plusDays(7);
-        LocalDateTime bookingEndDate6 = LocalDateTime.now().plusDays(10);
+        LocalDateTime bookingStartDate6 = now.plusDays(7);
+        LocalDateTime bookingEndDate6 = now.plusDays(10);
         AddBookingDto addBookingDto6 = new AddBookingDto(bookingStartDate6, bookingEndDate6, ITEM_ID2);
         booking6 = BookingMapper.addBookingDtoToBooking(addBookingDto6, booker2, item2, BookingStatus.WAITING);
         em.persist(booking6);
         booking6.setId(BOOKING_ID6);
         em.flush();
 
-        LocalDateTime commentDate = LocalDateTime.now().minusDays(5);
+        LocalDateTime commentDate = now.minusDays(5);
         String commentText = "Комментарий 1";
         CommentDto commentDto = new CommentDto(commentText);
         comment1 = ItemMapper.dtoToComment(commentDto, item1, requester1, commentDate);
         em.persist(comment1);
         comment1.setId(COMMENT_ID1);
 
-        LocalDateTime commentDate2 = LocalDateTime.now().minusDays(4);
+        LocalDateTime commentDate2 = now.minusDays(4);
         String commentText2 = "Комментарий 2";
         CommentDto commentDto2 = new CommentDto(commentText2);
         comment2 = ItemMapper.dtoToComment(commentDto2, item2, requester2, commentDate2);
         em.persist(comment2);
         comment2.setId(COMMENT_ID2);
 
-        LocalDateTime commentDate3 = LocalDateTime.now().minusDays(3);
+        LocalDateTime commentDate3 = now.minusDays(3);
         String commentText3 = "Комментарий 3";
         CommentDto commentDto3 = new CommentDto(commentText3);
         comment3 = ItemMapper.dtoToComment(commentDto3, item2, requester1, commentDate3);
@@ -267,8 +283,8 @@ class BookingServiceImplTest {
 
     @Test
     void createBooking() {
-        LocalDateTime bookingStartDate = LocalDateTime.now().plusDays(10);
-        LocalDateTime bookingEndDate = LocalDateTime.now().plusDays(15);
+        LocalDateTime bookingStartDate = LocalDateTime.now().plusDays(15);
+        LocalDateTime bookingEndDate = LocalDateTime.now().plusDays(20);
         AddBookingDto addBookingDto = new AddBookingDto(bookingStartDate, bookingEndDate, ITEM_ID1);
 
         long bookingId = 7L;
@@ -287,6 +303,16 @@ class BookingServiceImplTest {
         assertThat(approvedBooking.getBooker().getId(), equalTo(booker1.getId()));
     }
 
+    @Test
+    void createBooking_whenPeriodIsApproved_thenThrowBookingConflictException() {
+        AddBookingDto addBookingDto = new AddBookingDto(now.plusDays(12), now.plusDays(20), ITEM_ID1);
+
+        BookingConflictException exception = assertThrows(BookingConflictException.class,
+                () -> bookingService.createBooking(addBookingDto, BOOKER_ID1));
+
+        assertThat(exception.getMessage(), equalTo("Вещь уже забронирована на этот период."));
+    }
+
     @Test
     void getById() {
         GetBookingDto bookingDto = bookingService.getById(BOOKING_ID1, BOOKER_ID1);
@@ -318,6 +344,50 @@ class BookingServiceImplTest {
         assertThat(approvedBooking.getBooker(), equalTo(booker2));
     }
 
+    @Test
+    void approveAll() {
+        Booking booking7 = BookingMapper.addBookingDtoToBooking(
+                new AddBookingDto(now.plusDays(8), now.plusDays(12), ITEM_ID2), booker1, item2, BookingStatus.WAITING);
+        em.persist(booking7);
+        Booking booking8 = BookingMapper.addBookingDtoToBooking(
+                new AddBookingDto(now.plusDays(1), now.plusDays(3), ITEM_ID2), booker1, item2, BookingStatus.WAITING);
+        em.persist(booking8);
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<BookingDecisionResultDto> results = bookingService.approveAll(OWNER_ID2, List.of(
+                new BookingDecisionDto(BOOKING_ID6, true),
+                new BookingDecisionDto(booking7.getId(), true),
+                new BookingDecisionDto(booking8.getId(), true),
+                new BookingDecisionDto(BOOKING_ID3, true),
+                new BookingDecisionDto(BOOKING_ID2, false),
+                new BookingDecisionDto(BOOKING_ID1, true)));
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(5L));
+        assertThat(results, hasSize(6));
+        assertThat(results.get(0), equalTo(BookingDecisionResultDto.applied(BOOKING_ID6, BookingStatus.APPROVED)));
+        assertThat(results.get(1), equalTo(BookingDecisionResultDto.failed(booking7.getId(),
+                "Вещь уже забронирована на этот период.")));
+        assertThat(results.get(2), equalTo(BookingDecisionResultDto.failed(booking8.getId(),
+                "Вещь уже забронирована на этот период.")));
+        assertThat(results.get(3), equalTo(BookingDecisionResultDto.applied(BOOKING_ID3, BookingStatus.APPROVED)));
+        assertThat(results.get(4), equalTo(BookingDecisionResultDto.failed(BOOKING_ID2,
+                "Статус бронирования нельзя изменить после подтверждения.")));
+        assertThat(results.get(5), equalTo(BookingDecisionResultDto.failed(BOOKING_ID1,
+                "Бронирование с идентификатором " + BOOKING_ID1 + " не найдено среди бронирований ваших вещей.")));
+
+        em.clear();
+        assertThat(em.find(Booking.class, BOOKING_ID6).getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(em.find(Booking.class, booking7.getId()).getStatus(), equalTo(BookingStatus.WAITING));
+        assertThat(em.find(Booking.class, booking8.getId()).getStatus(), equalTo(BookingStatus.WAITING));
+        assertThat(em.find(Booking.class, BOOKING_ID3).getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(em.find(Booking.class, BOOKING_ID2).getStatus(), equalTo(BookingStatus.APPROVED));
+    }
+
     @Test
     void findBookingsByBookerId() {
 
@@ -397,6 +467,32 @@ class BookingServiceImplTest {
 
     }
 
+    @Test
+    void exportBookingsByBookerId_whenStateIsAll() {
+        List<Long> exported = new ArrayList<>();
+
+        bookingService.exportBookingsByBookerId(BOOKER_ID2, BookingState.ALL).forEach(booking -> exported.add(booking.getId()));
+
+        assertThat(exported, contains(BOOKING_ID5, BOOKING_ID6, BOOKING_ID4));
+    }
+
+    @Test
+    void exportBookingsByOwnerId_whenStateIsFuture() {
+        List<Long> exported = new ArrayList<>();
+        List<GetBookingDto> listed = bookingService.findBookingsByOwnerId(OWNER_ID1, BookingState.FUTURE, 0, 10);
+
+        bookingService.exportBookingsByOwnerId(OWNER_ID1, BookingState.FUTURE).forEach(booking -> exported.add(booking.getId()));
+
+        assertThat(listed, not(empty()));
+        assertThat(exported, equalTo(listed.stream().map(GetBookingDto::getId).collect(Collectors.toList())));
+    }
+
+    @Test
+    void exportBookingsByBookerId_whenUserNotFound_thenThrowBeforeExport() {
+        assertThrows(UserNotFoundException.class,
+                () -> bookingService.exportBookingsByBookerId(100L, BookingState.ALL));
+    }
+
     @Test
     void findBookingsByOwnerId() {
         int from = 0;
@@ -491,4 +587,69 @@ class BookingServiceImplTest {
         assertThat(bookings.get(0).getItem().getName(), equalTo(item1.getName()));
         assertThat(bookings.get(0).getBooker().getId(), equalTo(booker1.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findBookingsByBookerId_whenCursorIsSet() {
+        int size = 10;
+        BookingState state = BookingState.ALL;
+        em.clear();
+        BookingCursor cursor = BookingCursor.of(bookingService.getById(BOOKING_ID5, BOOKER_ID2));
+
+        List<GetBookingDto> bookings = bookingService.findBookingsByBookerId(BOOKER_ID2, state, cursor, size);
+
+        assertThat(bookings, notNullValue());
+        assertThat(bookings, hasSize(2));
+        assertThat(bookings.get(0).getId(), equalTo(BOOKING_ID6));
+        assertThat(bookings.get(0).getStatus(), equalTo(BookingStatus.WAITING));
+        assertThat(bookings.get(1).getId(), equalTo(BOOKING_ID4));
+        assertThat(bookings.get(1).getStatus(), equalTo(BookingStatus.CANCELED));
+    }
+
+    @Test
+    void findBookingsByOwnerId_whenCursorIsSet() {
+        int size = 1;
+        BookingState state = BookingState.ALL;
+        em.clear();
+
+        List<GetBookingDto> firstPage = bookingService.findBookingsByOwnerId(OWNER_ID1, state, 0, size);
+        BookingCursor cursor = BookingCursor.of(firstPage.get(0));
+        List<GetBookingDto> secondPage = bookingService.findBookingsByOwnerId(OWNER_ID1, state, cursor, size);
+        cursor = BookingCursor.of(secondPage.get(0));
+        List<GetBookingDto> thirdPage = bookingService.findBookingsByOwnerId(OWNER_ID1, state, cursor, size);
+        cursor = BookingCursor.of(thirdPage.get(0));
+        List<GetBookingDto> lastPage = bookingService.findBookingsByOwnerId(OWNER_ID1, state, cursor, size);
+
+        assertThat(firstPage.get(0).getId(), equalTo(BOOKING_ID5));
+        assertThat(secondPage, hasSize(1));
+        assertThat(secondPage.get(0).getId(), equalTo(BOOKING_ID4));
+        assertThat(thirdPage, hasSize(1));
+        assertThat(thirdPage.get(0).getId(), equalTo(BOOKING_ID1));
+        assertThat(thirdPage.get(0).getItem().getName(), equalTo(item1.getName()));
+        assertThat(lastPage, hasSize(0));
+    }
+
+    @Test
+    void findBookingsByOwnerId_shouldUseFixedNumberOfStatementsPerPage() {
+        Statistics statistics = em.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        em.clear();
+        statistics.clear();
+
+        List<GetBookingDto> bookings = bookingService.findBookingsByOwnerId(OWNER_ID1, BookingState.ALL, 0, 10);
+
+        assertThat(bookings, hasSize(3));
+        assertThat(bookings.get(0).getItem().getName(), equalTo(item1.getName()));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+
+        em.clear();
+        statistics.clear();
+
+        bookings = bookingService.findBookingsByBookerId(BOOKER_ID1, BookingState.ALL, 0, 1);
+
+        assertThat(bookings, hasSize(1));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+    }
+}
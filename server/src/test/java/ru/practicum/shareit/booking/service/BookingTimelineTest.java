@@ -0,0 +1,146 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.booking.dao.BookingDao;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingTimelineTest {
+    private static final long ITEM_ID = 1L;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final Item item = Item.builder().id(ITEM_ID).build();
+    private final User booker = User.builder().id(2L).build();
+
+    @Mock
+    BookingDao bookingDao;
+
+    @Test
+    void get_whenCalledTwice_thenLoadFromDaoOnce() {
+        BookingTimeline bookingTimeline = new BookingTimeline(bookingDao);
+        when(bookingDao.findLastAndNextByItemIds(List.of(ITEM_ID), BookingStatus.APPROVED, now))
+                .thenReturn(List.of(booking(2L, now.minusDays(2)), booking(3L, now.plusDays(1))));
+
+        BookingTimeline.ItemTimeline timeline = bookingTimeline.get(item, now);
+        BookingTimeline.ItemTimeline cached = bookingTimeline.get(item, now);
+
+        assertThat(timeline.findLast(now).getId(), equalTo(2L));
+        assertThat(timeline.findNext(now).getId(), equalTo(3L));
+        assertThat(cached.findLast(now).getId(), equalTo(2L));
+        verify(bookingDao, times(1)).findLastAndNextByItemIds(List.of(ITEM_ID), BookingStatus.APPROVED, now);
+    }
+
+    @Test
+    void get_whenTimePassesNextBooking_thenReload() {
+        BookingTimeline bookingTimeline = new BookingTimeline(bookingDao);
+        LocalDateTime later = now.plusDays(2);
+        when(bookingDao.findLastAndNextByItemIds(List.of(ITEM_ID), BookingStatus.APPROVED, now))
+                .thenReturn(List.of(booking(1L, now.minusDays(5)), booking(2L, now.plusDays(1))));
+        when(bookingDao.findLastAndNextByItemIds(List.of(ITEM_ID), BookingStatus.APPROVED, later))
+                .thenReturn(List.of(booking(2L, now.plusDays(1)), booking(3L, now.plusDays(3))));
+
+        BookingTimeline.ItemTimeline timeline = bookingTimeline.get(item, now);
+        BookingTimeline.ItemTimeline sameHorizon = bookingTimeline.get(item, now.plusHours(12));
+        BookingTimeline.ItemTimeline reloaded = bookingTimeline.get(item, later);
+
+        assertThat(timeline.findNext(now).getId(), equalTo(2L));
+        assertThat(sameHorizon.findLast(now.plusHours(12)).getId(), equalTo(1L));
+        assertThat(reloaded.findLast(later).getId(), equalTo(2L));
+        assertThat(reloaded.findNext(later).getId(), equalTo(3L));
+        verify(bookingDao, times(2)).findLastAndNextByItemIds(anyList(), eq(BookingStatus.APPROVED), any());
+    }
+
+    @Test
+    void onApproved_whenTimelineIsLoaded_thenBookingIsVisibleWithoutReload() {
+        BookingTimeline bookingTimeline = new BookingTimeline(bookingDao);
+        when(bookingDao.findLastAndNextByItemIds(List.of(ITEM_ID), BookingStatus.APPROVED, now))
+                .thenReturn(List.of(booking(3L, now.plusDays(3))));
+
+        bookingTimeline.get(item, now);
+        bookingTimeline.onApproved(booking(4L, now.plusDays(1)));
+
+        assertThat(bookingTimeline.get(item, now).findNext(now).getId(), equalTo(4L));
+        verify(bookingDao, times(1)).findLastAndNextByItemIds(List.of(ITEM_ID), BookingStatus.APPROVED, now);
+    }
+
+    @Test
+    void evict_whenItemIsDeleted_thenTimelineIsDropped() {
+        BookingTimeline bookingTimeline = new BookingTimeline(bookingDao);
+        when(bookingDao.findLastAndNextByItemIds(List.of(ITEM_ID), BookingStatus.APPROVED, now)).thenReturn(List.of());
+        bookingTimeline.get(item, now);
+        bookingTimeline.onApproved(booking(1L, now.plusDays(1)));
+
+        bookingTimeline.evict(ITEM_ID);
+
+        assertThat(bookingTimeline.get(item, now).findNext(now), nullValue());
+        verify(bookingDao, times(2)).findLastAndNextByItemIds(List.of(ITEM_ID), BookingStatus.APPROVED, now);
+    }
+
+    @Test
+    void onApproved_whenTransactionIsActive_thenBookingIsVisibleAfterCommit() {
+        BookingTimeline bookingTimeline = new BookingTimeline(bookingDao);
+        when(bookingDao.findLastAndNextByItemIds(List.of(ITEM_ID), BookingStatus.APPROVED, now)).thenReturn(List.of());
+        bookingTimeline.get(item, now);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingTimeline.onApproved(booking(4L, now.plusDays(1)));
+            assertThat(bookingTimeline.get(item, now).findNext(now), nullValue());
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(bookingTimeline.get(item, now).findNext(now).getId(), equalTo(4L));
+    }
+
+    @Test
+    void onApproved_whenTransactionRollsBack_thenBookingIsNotAdded() {
+        BookingTimeline bookingTimeline = new BookingTimeline(bookingDao);
+        when(bookingDao.findLastAndNextByItemIds(List.of(ITEM_ID), BookingStatus.APPROVED, now)).thenReturn(List.of());
+        bookingTimeline.get(item, now);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingTimeline.onApproved(booking(4L, now.plusDays(1)));
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(bookingTimeline.get(item, now).findNext(now), nullValue());
+    }
+
+    private Booking booking(long id, LocalDateTime start) {
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(start.plusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+}
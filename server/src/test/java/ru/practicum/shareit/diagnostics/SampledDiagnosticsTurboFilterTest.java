@@ -0,0 +1,49 @@
+package ru.practicum.shareit.diagnostics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class SampledDiagnosticsTurboFilterTest {
+    private final LoggerContext context = new LoggerContext();
+    private Logger sqlLogger;
+    private Logger otherLogger;
+
+    @BeforeEach
+    void setUp() {
+        SampledDiagnosticsTurboFilter filter = new SampledDiagnosticsTurboFilter();
+        filter.addLogger("org.hibernate.SQL");
+        filter.start();
+        context.addTurboFilter(filter);
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        sqlLogger = context.getLogger("org.hibernate.SQL");
+        otherLogger = context.getLogger("org.hibernate.type");
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.remove(DiagnosticsFilter.MDC_KEY);
+    }
+
+    @Test
+    void decide_whenRequestIsNotSampled_thenKeepLoggerLevel() {
+        assertThat(sqlLogger.isDebugEnabled(), equalTo(false));
+        assertThat(sqlLogger.isInfoEnabled(), equalTo(true));
+    }
+
+    @Test
+    void decide_whenRequestIsSampled_thenEnableDiagnosticLoggersOnly() {
+        MDC.put(DiagnosticsFilter.MDC_KEY, "1");
+
+        assertThat(sqlLogger.isDebugEnabled(), equalTo(true));
+        assertThat(sqlLogger.isTraceEnabled(), equalTo(true));
+        assertThat(otherLogger.isDebugEnabled(), equalTo(false));
+    }
+}
@@ -22,11 +22,13 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.nio.charset.StandardCharsets;
 
+import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = {BookingController.class, ItemController.class, ItemRequestController.class,
@@ -121,6 +123,27 @@ class ErrorHandlerTest {
         Mockito.verifyNoMoreInteractions(userService);
     }
 
+    @Test
+    void handleBookingConflictException() throws Exception {
+        long bookingId = 1L;
+        long userId = 1L;
+
+        when(bookingService.approve(bookingId, userId, true))
+                .thenThrow(new BookingConflictException("Вещь уже забронирована на этот период."));
+
+        mvc.perform(patch("/bookings/" + bookingId)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("approved", "true")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("Вещь уже забронирована на этот период.")));
+
+        Mockito.verify(bookingService, Mockito.times(1))
+                .approve(bookingId, userId, true);
+        Mockito.verifyNoMoreInteractions(bookingService);
+    }
+
     @Test
     void handleUnexpectedException() throws Exception {
         when(itemRequestService.findAll(anyLong(), anyInt(), anyInt()))
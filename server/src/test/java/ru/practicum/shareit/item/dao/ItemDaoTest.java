@@ -23,6 +23,7 @@ import ru.practicum.shareit.user.model.User;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -232,6 +233,27 @@ class ItemDaoTest {
         assertThat(items.get(1).getOwner().getEmail(), equalTo(item2.getOwner().getEmail()));
     }
 
+    @Test
+    void searchByText_whenNameMatches_thenRankItFirst() {
+        item3.setName("Описание вещи 3");
+        em.flush();
+
+        List<Item> items = itemDao.searchByText("описание", PageRequest.of(0, 10));
+
+        assertThat(items.stream().map(Item::getId).collect(Collectors.toList()),
+                contains(ITEM_ID3, ITEM_ID1, ITEM_ID2));
+    }
+
+    @Test
+    void searchByText_whenItemIsUnavailable_thenSkipIt() {
+        item3.setAvailable(false);
+        em.flush();
+
+        List<Item> items = itemDao.searchByText("вещь", PageRequest.of(0, 10));
+
+        assertThat(items.stream().map(Item::getId).collect(Collectors.toList()), contains(ITEM_ID1));
+    }
+
     @Test
     void findAllByItemRequests() {
         itemRequest1.setId(REQUEST_ID1);
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    ItemDao itemDao;
+
+    @Test
+    void build_whenItemsExist_thenLoadThemInBatches() {
+        ItemSearchIndex index = new ItemSearchIndex(itemDao, true);
+        when(itemDao.findFirst1000ByIdGreaterThanOrderById(0L))
+                .thenReturn(List.of(item(1L, "Дрель", "Ударная дрель", true), item(2L, "Отвёртка", "Крестовая", true)));
+        when(itemDao.findFirst1000ByIdGreaterThanOrderById(2L)).thenReturn(List.of());
+
+        index.build();
+
+        assertThat(index.isReady(), equalTo(true));
+        assertThat(index.search("дрел", 0, 10), contains(1L));
+    }
+
+    @Test
+    void build_whenDisabled_thenIndexIsNotReady() {
+        ItemSearchIndex index = new ItemSearchIndex(itemDao, false);
+
+        index.build();
+        index.add(item(1L, "Дрель", "Ударная дрель", true));
+
+        assertThat(index.isReady(), equalTo(false));
+        assertThat(index.search("дрель", 0, 10), empty());
+        verifyNoInteractions(itemDao);
+    }
+
+    @Test
+    void search_whenNameMatches_thenRankItFirst() {
+        ItemSearchIndex index = new ItemSearchIndex(itemDao, true);
+        index.add(item(1L, "Перфоратор", "Лучше, чем дрель", true));
+        index.add(item(2L, "Отвёртка", "Крестовая", true));
+        index.add(item(3L, "Дрель", "Аккумуляторная", true));
+        index.add(item(4L, "Кейс", "Для дрели", true));
+
+        assertThat(index.search("дрел", 0, 10), contains(3L, 1L, 4L));
+        assertThat(index.search("дрел", 1, 1), contains(1L));
+        assertThat(index.search("дрел", 3, 10), empty());
+    }
+
+    @Test
+    void search_whenTextIsShorterThanGram_thenScanAllItems() {
+        ItemSearchIndex index = new ItemSearchIndex(itemDao, true);
+        index.add(item(1L, "Пила", "Ножовка", true));
+        index.add(item(2L, "Молоток", "Гвозди забивать", true));
+
+        assertThat(index.search("ил", 0, 10), contains(1L));
+        assertThat(index.search("о", 0, 10), contains(2L, 1L));
+    }
+
+    @Test
+    void search_whenGramsMatchButTextDoesNot_thenSkipItem() {
+        ItemSearchIndex index = new ItemSearchIndex(itemDao, true);
+        index.add(item(1L, "абв где", "бвг", true));
+
+        assertThat(index.search("абвг", 0, 10), empty());
+    }
+
+    @Test
+    void update_whenItemBecomesUnavailable_thenItIsNotFound() {
+        ItemSearchIndex index = new ItemSearchIndex(itemDao, true);
+        index.add(item(1L, "Дрель", "Ударная дрель", true));
+
+        index.update(item(1L, "Дрель", "Ударная дрель", false));
+
+        assertThat(index.search("дрель", 0, 10), empty());
+    }
+
+    @Test
+    void update_whenItemIsRenamed_thenFoundByNewNameOnly() {
+        ItemSearchIndex index = new ItemSearchIndex(itemDao, true);
+        index.add(item(1L, "Дрель", "Ударная", true));
+
+        index.update(item(1L, "Перфоратор", "Ударный", true));
+
+        assertThat(index.search("дрель", 0, 10), empty());
+        assertThat(index.search("перфоратор", 0, 10), contains(1L));
+    }
+
+    @Test
+    void remove_whenItemIsDeleted_thenItIsNotFound() {
+        ItemSearchIndex index = new ItemSearchIndex(itemDao, true);
+        index.add(item(1L, "Дрель", "Ударная дрель", true));
+        index.add(item(2L, "Дрель", "Аккумуляторная дрель", true));
+
+        index.remove(1L);
+
+        assertThat(index.search("дрель", 0, 10), contains(2L));
+    }
+
+    @Test
+    void update_whenTransactionIsActive_thenApplyAfterCommit() {
+        ItemSearchIndex index = new ItemSearchIndex(itemDao, true);
+        index.add(item(1L, "Дрель", "Ударная дрель", true));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.update(item(1L, "Перфоратор", "Ударный", true));
+            assertThat(index.search("перфоратор", 0, 10), empty());
+            assertThat(index.search("дрель", 0, 10), contains(1L));
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(index.search("перфоратор", 0, 10), contains(1L));
+        assertThat(index.search("дрель", 0, 10), empty());
+    }
+
+    @Test
+    void add_whenTransactionRollsBack_thenItemIsNotIndexed() {
+        ItemSearchIndex index = new ItemSearchIndex(itemDao, true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.add(item(1L, "Дрель", "Ударная дрель", true));
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(index.search("дрель", 0, 10), empty());
+    }
+
+    private Item item(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
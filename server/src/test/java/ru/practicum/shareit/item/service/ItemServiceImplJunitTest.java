@@ -10,6 +10,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.dao.BookingDao;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingTimeline;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.dao.CommentDao;
 import ru.practicum.shareit.item.dao.ItemDao;
@@ -21,6 +22,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dao.ItemRequestDao;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserIdCache;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -54,12 +56,19 @@ class ItemServiceImplJunitTest {
     CommentDao commentDao;
     @Mock
     ItemRequestDao itemRequestDao;
+    @Mock
+    BookingTimeline bookingTimeline;
+    @Mock
+    UserIdCache userIdCache;
+    @Mock
+    ItemSearchIndex itemSearchIndex;
 
     ItemService itemService;
 
     @BeforeEach
     void setUp() {
-        itemService = new ItemServiceImpl(itemDao, userDao, bookingDao, commentDao, itemRequestDao);
+        itemService = new ItemServiceImpl(itemDao, userDao, bookingDao, commentDao, itemRequestDao, bookingTimeline, userIdCache,
+                itemSearchIndex);
         itemDto = ItemDto.builder().name("item name").description("description").available(true).requestId(REQUEST_ID).build();
     }
 
@@ -92,7 +101,7 @@ class ItemServiceImplJunitTest {
 
     @Test
     void getById_whenUserNotFound_thenThrowUserNotFoundException() {
-        when(userDao.findById(USER_ID)).thenReturn(Optional.empty());
+        when(userIdCache.exists(USER_ID)).thenReturn(false);
 
         final UserNotFoundException exception = assertThrows(
                 UserNotFoundException.class,
@@ -104,8 +113,7 @@ class ItemServiceImplJunitTest {
 
     @Test
     void getById_whenItemNotFound_thenThrowItemNotFoundException() {
-        User user = User.builder().build();
-        when(userDao.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userIdCache.exists(USER_ID)).thenReturn(true);
 
         when(itemDao.findById(ITEM_ID)).thenReturn(Optional.empty());
 
@@ -120,8 +128,7 @@ class ItemServiceImplJunitTest {
 
     @Test
     void getById_whenUserIsNotOwner() {
-        User user = User.builder().build();
-        when(userDao.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userIdCache.exists(USER_ID)).thenReturn(true);
 
         User owner = User.builder().id(OWNER_ID).build();
         Item item = ItemMapper.dtoToItem(itemDto, owner, null);
@@ -332,6 +339,20 @@ class ItemServiceImplJunitTest {
         Mockito.verifyNoMoreInteractions(itemDao);
     }
 
+    @Test
+    void searchByText_whenIndexIsReady_thenLoadOnlyFoundItems() {
+        Item first = Item.builder().id(ITEM_ID).name("Дрель").description("Ударная").available(true).build();
+        Item second = Item.builder().id(ITEM_ID + 1).name("Кейс").description("Для дрели").available(true).build();
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemSearchIndex.search("дрел", 10, 10)).thenReturn(List.of(ITEM_ID, ITEM_ID + 1));
+        when(itemDao.findAllById(List.of(ITEM_ID, ITEM_ID + 1))).thenReturn(List.of(second, first));
+
+        List<ItemDto> itemDtoList = itemService.searchByText("Дрел", 10, 10);
+
+        assertThat(itemDtoList, equalTo(List.of(ItemMapper.itemToDto(first), ItemMapper.itemToDto(second))));
+        Mockito.verify(itemDao, Mockito.never()).searchByText(Mockito.anyString(), Mockito.any(PageRequest.class));
+    }
+
     @Test
     void addComment_whenUserNotFound_thenThrowUserNotFoundException() {
         when(itemDao.findById(ITEM_ID)).thenReturn(Optional.of(Item.builder().build()));
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -29,7 +32,11 @@ import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -37,9 +44,10 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+@Slf4j
 @Transactional
 @SpringBootTest(
-        properties = "db.name=test",
+        properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"},
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -83,6 +91,40 @@ class ItemServiceImplTest {
         assertThat(item.getAvailable(), equalTo(itemDto.getAvailable()));
     }
 
+    @Test
+    void createItems_shouldInsertInJdbcBatches() {
+        int count = 1000;
+        User user = UserMapper.dtoToUser(UserDto.builder()
+                .name("Serj Tankian")
+                .email("serjtankian@mail.com")
+                .build());
+        em.persist(user);
+        em.flush();
+        em.clear();
+        List<ItemDto> itemDtos = IntStream.range(0, count)
+                .mapToObj(i -> ItemDto.builder()
+                        .name("Вещь " + i)
+                        .description("Описание вещи " + i)
+                        .available(true)
+                        .build())
+                .collect(Collectors.toList());
+        Statistics statistics = em.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        long startedAt = System.nanoTime();
+        List<ItemDto> items = itemService.createItems(itemDtos, user.getId());
+        em.flush();
+        long elapsed = System.nanoTime() - startedAt;
+
+        log.info("Импортировано {} предметов: {} строк/с", count, count * TimeUnit.SECONDS.toNanos(1) / elapsed);
+        assertThat(items, hasSize(count));
+        assertThat(items.get(count - 1).getId(), notNullValue());
+        assertThat(statistics.getEntityInsertCount(), equalTo((long) count));
+        assertThat(statistics.getPrepareStatementCount(), lessThan(100L));
+    }
+
     @Test
     void getById() {
         long itemId = 1L;
@@ -128,8 +170,8 @@ class ItemServiceImplTest {
         item.setId(itemId);
         em.flush();
 
-        LocalDateTime nextBookingStartDate = LocalDateTime.parse("2023-07-23T17:40:50", dateTimeFormatter);
-        LocalDateTime nextBookingEndDate = LocalDateTime.parse("2023-07-24T17:40:50", dateTimeFormatter);
+        LocalDateTime nextBookingStartDate = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime nextBookingEndDate = nextBookingStartDate.plusDays(1);
         AddBookingDto addBookingDto = new AddBookingDto(nextBookingStartDate, nextBookingEndDate, itemId);
         Booking booking = BookingMapper.addBookingDtoToBooking(addBookingDto, requester, item, BookingStatus.APPROVED);
         em.persist(booking);
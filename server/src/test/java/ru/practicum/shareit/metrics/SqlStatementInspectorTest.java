@@ -0,0 +1,59 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class SqlStatementInspectorTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementInspector inspector = new SqlStatementInspector(meterRegistry);
+    private final SqlStatementsInterceptor interceptor = new SqlStatementsInterceptor(meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void inspect_whenInsideRequest_thenCountByEndpointAndType() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{itemId}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        interceptor.preHandle(request, response, null);
+
+        String sql = "select i.id from items i where i.id=?";
+        assertThat(inspector.inspect(sql), equalTo(sql));
+        inspector.inspect("  select c.id from comments c where c.item_id=?");
+        inspector.inspect("insert into comments (id) values (?)");
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertThat(meterRegistry.get(SqlStatementInspector.STATEMENTS)
+                .tags("method", "GET", "uri", "/items/{itemId}", "type", "select")
+                .counter().count(), equalTo(2.0));
+        assertThat(meterRegistry.get(SqlStatementInspector.STATEMENTS)
+                .tags("method", "GET", "uri", "/items/{itemId}", "type", "insert")
+                .counter().count(), equalTo(1.0));
+        assertThat(meterRegistry.get(SqlStatementsInterceptor.STATEMENTS_PER_REQUEST)
+                .tags("method", "GET", "uri", "/items/{itemId}")
+                .summary().totalAmount(), equalTo(3.0));
+    }
+
+    @Test
+    void inspect_whenOutsideRequest_thenCountWithoutEndpoint() {
+        inspector.inspect("call next value for items_seq");
+
+        assertThat(meterRegistry.get(SqlStatementInspector.STATEMENTS)
+                .tags("method", "none", "uri", "none", "type", "other")
+                .counter().count(), equalTo(1.0));
+    }
+}
@@ -12,7 +12,7 @@ import ru.practicum.shareit.item.dao.ItemDao;
 import ru.practicum.shareit.request.dao.ItemRequestDao;
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
 import ru.practicum.shareit.user.dao.UserDao;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserIdCache;
 
 import java.util.Optional;
 
@@ -35,12 +35,14 @@ class ItemRequestServiceImplJunitTest {
     UserDao userDao;
     @Mock
     ItemDao itemDao;
+    @Mock
+    UserIdCache userIdCache;
 
     ItemRequestService itemRequestService;
 
     @BeforeEach
     void setUp() {
-        itemRequestService = new ItemRequestServiceImpl(itemRequestDao, userDao, itemDao);
+        itemRequestService = new ItemRequestServiceImpl(itemRequestDao, userDao, itemDao, userIdCache);
         addItemRequestDto = new AddItemRequestDto("description");
     }
 
@@ -61,7 +63,7 @@ class ItemRequestServiceImplJunitTest {
 
     @Test
     void findAllByRequesterId_whenUserNotExists_thenThrowException() {
-        when(userDao.findById(USER_ID)).thenReturn(Optional.empty());
+        when(userIdCache.exists(USER_ID)).thenReturn(false);
 
         final UserNotFoundException exception = assertThrows(
                 UserNotFoundException.class,
@@ -69,14 +71,14 @@ class ItemRequestServiceImplJunitTest {
         );
 
         assertEquals("Пользователь с идентификатором " + USER_ID + " не найден.", exception.getMessage());
-        Mockito.verify(userDao, Mockito.times(1))
-                .findById(USER_ID);
-        Mockito.verifyNoMoreInteractions(userDao);
+        Mockito.verify(userIdCache, Mockito.times(1))
+                .exists(USER_ID);
+        Mockito.verifyNoInteractions(userDao);
     }
 
     @Test
     void findAll_whenUserNotExists_thenThrowException() {
-        when(userDao.findById(USER_ID)).thenReturn(Optional.empty());
+        when(userIdCache.exists(USER_ID)).thenReturn(false);
 
         int from = 0;
         int size = 10;
@@ -86,14 +88,14 @@ class ItemRequestServiceImplJunitTest {
         );
 
         assertEquals("Пользователь с идентификатором " + USER_ID + " не найден.", exception.getMessage());
-        Mockito.verify(userDao, Mockito.times(1))
-                .findById(USER_ID);
-        Mockito.verifyNoMoreInteractions(userDao);
+        Mockito.verify(userIdCache, Mockito.times(1))
+                .exists(USER_ID);
+        Mockito.verifyNoInteractions(userDao);
     }
 
     @Test
     void getById_whenUserNotExists_thenThrowException() {
-        when(userDao.findById(USER_ID)).thenReturn(Optional.empty());
+        when(userIdCache.exists(USER_ID)).thenReturn(false);
 
         final UserNotFoundException exception = assertThrows(
                 UserNotFoundException.class,
@@ -101,15 +103,14 @@ class ItemRequestServiceImplJunitTest {
         );
 
         assertEquals("Пользователь с идентификатором " + USER_ID + " не найден.", exception.getMessage());
-        Mockito.verify(userDao, Mockito.times(1))
-                .findById(USER_ID);
-        Mockito.verifyNoMoreInteractions(userDao);
+        Mockito.verify(userIdCache, Mockito.times(1))
+                .exists(USER_ID);
+        Mockito.verifyNoInteractions(userDao);
     }
 
     @Test
     void getById_whenItemRequestNotExists_thenThrowException() {
-        User user = User.builder().build();
-        when(userDao.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userIdCache.exists(USER_ID)).thenReturn(true);
 
         when(itemRequestDao.findById(REQUEST_ID)).thenReturn(Optional.empty());
 
@@ -119,11 +120,11 @@ class ItemRequestServiceImplJunitTest {
         );
 
         assertEquals("Запрос с идентификатором " + REQUEST_ID + " не найден.", exception.getMessage());
-        Mockito.verify(userDao, Mockito.times(1))
-                .findById(USER_ID);
+        Mockito.verify(userIdCache, Mockito.times(1))
+                .exists(USER_ID);
         Mockito.verify(itemRequestDao, Mockito.times(1))
                 .findById(REQUEST_ID);
-        Mockito.verifyNoMoreInteractions(userDao);
+        Mockito.verifyNoInteractions(userDao);
         Mockito.verifyNoMoreInteractions(itemRequestDao);
     }
 }
\ No newline at end of file
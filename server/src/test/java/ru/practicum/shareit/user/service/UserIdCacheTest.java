@@ -0,0 +1,89 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.user.dao.UserDao;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdCacheTest {
+    private static final long USER_ID = 1L;
+
+    @Mock
+    UserDao userDao;
+
+    @Test
+    void exists_whenWarmedUp_thenNoQuery() {
+        UserIdCache userIdCache = new UserIdCache(userDao);
+        when(userDao.findIds(any(Pageable.class))).thenReturn(List.of(USER_ID));
+
+        userIdCache.warmUp();
+
+        assertThat(userIdCache.exists(USER_ID), equalTo(true));
+        verify(userDao, never()).existsById(USER_ID);
+    }
+
+    @Test
+    void exists_whenUnknownUserExists_thenQueryOnce() {
+        UserIdCache userIdCache = new UserIdCache(userDao);
+        when(userDao.existsById(USER_ID)).thenReturn(true);
+
+        assertThat(userIdCache.exists(USER_ID), equalTo(true));
+        assertThat(userIdCache.exists(USER_ID), equalTo(true));
+        verify(userDao, times(1)).existsById(USER_ID);
+    }
+
+    @Test
+    void exists_whenUserRemoved_thenQueryAgain() {
+        UserIdCache userIdCache = new UserIdCache(userDao);
+        when(userDao.existsById(USER_ID)).thenReturn(false);
+        userIdCache.add(USER_ID);
+
+        userIdCache.remove(USER_ID);
+
+        assertThat(userIdCache.exists(USER_ID), equalTo(false));
+        verify(userDao, times(1)).existsById(USER_ID);
+    }
+
+    @Test
+    void exists_whenUserDoesNotExist_thenQueryEveryTime() {
+        UserIdCache userIdCache = new UserIdCache(userDao);
+        when(userDao.existsById(USER_ID)).thenReturn(false);
+
+        assertThat(userIdCache.exists(USER_ID), equalTo(false));
+        assertThat(userIdCache.exists(USER_ID), equalTo(false));
+        verify(userDao, times(2)).existsById(USER_ID);
+    }
+
+    @Test
+    void remove_whenTransactionIsActive_thenEvictAfterCommit() {
+        UserIdCache userIdCache = new UserIdCache(userDao);
+        userIdCache.add(USER_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userIdCache.remove(USER_ID);
+            assertThat(userIdCache.exists(USER_ID), equalTo(true));
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(userIdCache.exists(USER_ID), equalTo(false));
+        verify(userDao, times(1)).existsById(USER_ID);
+    }
+}
@@ -30,12 +30,14 @@ class UserServiceImplJunitTest {
     private final User user = UserMapper.dtoToUser(userDto);
     @Mock
     UserDao userDao;
+    @Mock
+    UserIdCache userIdCache;
 
     UserService userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userDao);
+        userService = new UserServiceImpl(userDao, userIdCache);
 
     }
 
@@ -0,0 +1,8 @@
+-- PostgreSQL does not index foreign keys, while H2 adds an index per key and prefers it over a wider composite one.
+-- Dropping the keys covered by V2 indexes lets SchemaIndexTest see the plans PostgreSQL gets.
+ALTER TABLE requests DROP CONSTRAINT IF EXISTS fk_requests_to_users;
+ALTER TABLE items DROP CONSTRAINT IF EXISTS fk_items_to_users;
+ALTER TABLE items DROP CONSTRAINT IF EXISTS fk_item_to_request;
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS fk_bookings_to_users;
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS fk_booking_to_item;
+ALTER TABLE comments DROP CONSTRAINT IF EXISTS fk_comments_to_item;